@@ -0,0 +1,47 @@
+package com.monstersinc.stock101.common.calendar;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * KRX 거래일 달력 설정 프로퍼티
+ * 매년 같은 날짜의 공휴일과 연말 휴장일은 코드에서 계산하고,
+ * 설/추석, 대체공휴일, 선거일, 임시공휴일처럼 해마다 바뀌는 휴장일만 설정
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "krx.calendar")
+public class KrxCalendarProperties {
+
+    /**
+     * 추가 휴장일 (yyyy-MM-dd)
+     */
+    private List<String> holidays = new ArrayList<>();
+
+    /**
+     * 개장/폐장 시각이 다른 날 (수능일 등)
+     */
+    private List<SpecialSession> specialSessions = new ArrayList<>();
+
+    @Data
+    public static class SpecialSession {
+        /**
+         * 날짜 (yyyy-MM-dd)
+         */
+        private String date;
+
+        /**
+         * 개장 시각 (HH:mm, 비우면 09:00)
+         */
+        private String open;
+
+        /**
+         * 폐장 시각 (HH:mm, 비우면 15:30)
+         */
+        private String close;
+    }
+}
@@ -0,0 +1,205 @@
+package com.monstersinc.stock101.common.calendar;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * KRX(한국거래소) 거래일 달력
+ * - 주말, 매년 같은 날짜의 공휴일, 연말 휴장일(12월 마지막 평일)은 규칙으로 계산
+ * - 설/추석, 대체공휴일, 선거일 등은 krx.calendar.holidays 설정을 따름
+ * - 연초 첫 거래일은 10:00 개장, 수능일 등은 krx.calendar.special-sessions 설정을 따름
+ * 설정에 없는 해의 음력 공휴일은 거래일로 계산되므로 호출 수는 실제보다 조금 많게 추정될 수 있음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KrxTradingCalendar {
+
+    private final KrxCalendarProperties properties;
+
+    public static final ZoneId MARKET_ZONE = ZoneId.of("Asia/Seoul");
+
+    private static final LocalTime REGULAR_OPEN = LocalTime.of(9, 0);
+    private static final LocalTime REGULAR_CLOSE = LocalTime.of(15, 30);
+    private static final LocalTime NEW_YEAR_OPEN = LocalTime.of(10, 0);
+
+    /**
+     * 매년 같은 날짜의 휴장일 (신정, 삼일절, 근로자의 날, 어린이날, 현충일, 광복절, 개천절, 한글날, 성탄절)
+     */
+    private static final Set<MonthDay> FIXED_HOLIDAYS = Set.of(
+            MonthDay.of(1, 1),
+            MonthDay.of(3, 1),
+            MonthDay.of(5, 1),
+            MonthDay.of(5, 5),
+            MonthDay.of(6, 6),
+            MonthDay.of(8, 15),
+            MonthDay.of(10, 3),
+            MonthDay.of(10, 9),
+            MonthDay.of(12, 25));
+
+    /**
+     * 거래일을 찾을 때 최대로 거슬러 올라갈 일수 (연휴가 아무리 길어도 이 안에 거래일이 있음)
+     */
+    private static final int MAX_SEARCH_DAYS = 30;
+
+    private Set<LocalDate> holidays;
+    private Map<LocalDate, Session> specialSessions;
+
+    @PostConstruct
+    public void init() {
+        Set<LocalDate> configuredHolidays = new HashSet<>();
+        for (String holiday : properties.getHolidays()) {
+            configuredHolidays.add(LocalDate.parse(holiday.trim()));
+        }
+
+        Map<LocalDate, Session> configuredSessions = new HashMap<>();
+        for (KrxCalendarProperties.SpecialSession session : properties.getSpecialSessions()) {
+            LocalTime open = StringUtils.hasText(session.getOpen()) ? LocalTime.parse(session.getOpen().trim()) : REGULAR_OPEN;
+            LocalTime close = StringUtils.hasText(session.getClose()) ? LocalTime.parse(session.getClose().trim()) : REGULAR_CLOSE;
+            configuredSessions.put(LocalDate.parse(session.getDate().trim()), new Session(open, close));
+        }
+
+        this.holidays = Set.copyOf(configuredHolidays);
+        this.specialSessions = Map.copyOf(configuredSessions);
+        log.info("KRX 거래일 달력 로드: 추가 휴장일 {}일, 특별 개장일 {}일", holidays.size(), specialSessions.size());
+    }
+
+    /**
+     * 거래일 여부
+     */
+    public boolean isTradingDay(LocalDate date) {
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+            return false;
+        }
+        return !FIXED_HOLIDAYS.contains(MonthDay.from(date))
+                && !holidays.contains(date)
+                && !isYearEndClosing(date);
+    }
+
+    /**
+     * 해당 날짜 이전(당일 제외)의 가장 가까운 거래일
+     */
+    public LocalDate previousTradingDay(LocalDate date) {
+        LocalDate day = date.minusDays(1);
+        for (int i = 0; i < MAX_SEARCH_DAYS && !isTradingDay(day); i++) {
+            day = day.minusDays(1);
+        }
+        return day;
+    }
+
+    /**
+     * 해당 날짜 이후(당일 제외)의 가장 가까운 거래일
+     */
+    public LocalDate nextTradingDay(LocalDate date) {
+        LocalDate day = date.plusDays(1);
+        for (int i = 0; i < MAX_SEARCH_DAYS && !isTradingDay(day); i++) {
+            day = day.plusDays(1);
+        }
+        return day;
+    }
+
+    /**
+     * 기간 안의 거래일 목록 (시작일, 종료일 포함, 오름차순)
+     */
+    public List<LocalDate> tradingDaysBetween(LocalDate startDate, LocalDate endDate) {
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            if (isTradingDay(day)) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    /**
+     * 기간 안의 거래일 수 (시작일, 종료일 포함)
+     */
+    public int countTradingDays(LocalDate startDate, LocalDate endDate) {
+        int count = 0;
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            if (isTradingDay(day)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 거래일의 개장/폐장 시각 (거래일이 아니면 null)
+     */
+    public Session getSession(LocalDate date) {
+        if (!isTradingDay(date)) {
+            return null;
+        }
+        Session special = specialSessions.get(date);
+        if (special != null) {
+            return special;
+        }
+        if (previousTradingDay(date).getYear() < date.getYear()) {
+            return new Session(NEW_YEAR_OPEN, REGULAR_CLOSE);
+        }
+        return new Session(REGULAR_OPEN, REGULAR_CLOSE);
+    }
+
+    /**
+     * 현재 시각 기준으로 일봉이 존재해야 하는 가장 최근 거래일
+     * 오늘이 거래일이고 개장했으면 오늘, 아니면 직전 거래일
+     */
+    public LocalDate latestSessionDate() {
+        return latestSessionDate(LocalDateTime.now(MARKET_ZONE));
+    }
+
+    public LocalDate latestSessionDate(LocalDateTime now) {
+        LocalDate today = now.toLocalDate();
+        Session session = getSession(today);
+        if (session != null && !now.toLocalTime().isBefore(session.open())) {
+            return today;
+        }
+        return previousTradingDay(today);
+    }
+
+    /**
+     * 해당 거래일의 장이 끝났는지 (거래일이 아니면 true)
+     */
+    public boolean isSessionClosed(LocalDate date, LocalDateTime now) {
+        Session session = getSession(date);
+        return session == null || now.isAfter(date.atTime(session.close()));
+    }
+
+    /**
+     * 연말 휴장일: 12월의 마지막 평일
+     */
+    private boolean isYearEndClosing(LocalDate date) {
+        if (date.getMonthValue() != 12 || date.getDayOfMonth() < 29) {
+            return false;
+        }
+        LocalDate lastWeekday = LocalDate.of(date.getYear(), 12, 31);
+        while (lastWeekday.getDayOfWeek() == DayOfWeek.SATURDAY || lastWeekday.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            lastWeekday = lastWeekday.minusDays(1);
+        }
+        return date.equals(lastWeekday);
+    }
+
+    /**
+     * 개장/폐장 시각
+     */
+    public record Session(LocalTime open, LocalTime close) {
+    }
+}
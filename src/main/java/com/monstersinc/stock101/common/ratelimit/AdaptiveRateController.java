@@ -0,0 +1,216 @@
+package com.monstersinc.stock101.common.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 적응형 Rate Limit 속도 조절 (AIMD: 가산 증가 / 승산 감소)
+ * - 외부 API가 호출 제한 응답을 주면 즉시 속도를 decreaseFactor배로 줄임 (짧은 시간 안의 연속 응답은 한 번만 반영)
+ * - 제한 응답 없이 성공이 이어지면 increaseIntervalMs마다 increaseStep만큼 올림
+ * 속도는 Redis(ratelimit:adaptive:{key})에 저장하여 모든 노드가 같은 값을 사용하고, 각 노드는 1초마다 동기화
+ * Rate Limiter 구현체는 {@link #getProperties(String)}로 현재 속도가 반영된 설정을 조회
+ * "KIS_API:sub1"처럼 설정에 없는 하위 키는 "KIS_API" 설정을 쓰되 속도는 키별로 따로 조절
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdaptiveRateController {
+
+    private final StringRedisTemplate redisTemplate;
+    private final Map<String, RateLimitProperties> rateLimitPropertiesMap;
+
+    private static final String KEY_PREFIX = "ratelimit:adaptive:";
+
+    /**
+     * 연속된 제한 응답을 한 번의 감소로 묶는 시간 (밀리초)
+     * 이미 보낸 요청들의 응답이 뒤늦게 도착해도 속도가 연쇄적으로 줄지 않도록 함
+     */
+    private static final long DECREASE_COOLDOWN_MS = 1000;
+
+    /**
+     * 노드별 현재 속도 (초당 토큰 수)
+     */
+    private final Map<String, Double> currentRates = new ConcurrentHashMap<>();
+
+    /**
+     * 마지막 동기화 이후 성공 횟수
+     */
+    private final Map<String, LongAdder> successCounts = new ConcurrentHashMap<>();
+
+    /**
+     * 승산 감소: ARGV[1] 시작 속도, ARGV[2] 하한, ARGV[3] 감소 비율, ARGV[4] 쿨다운(ms)
+     */
+    private static final DefaultRedisScript<String> DECREASE_SCRIPT = new DefaultRedisScript<>("""
+        redis.replicate_commands()
+        local time = redis.call('TIME')
+        local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+        local rate = tonumber(redis.call('HGET', KEYS[1], 'rate')) or tonumber(ARGV[1])
+        local last = tonumber(redis.call('HGET', KEYS[1], 'last_decrease')) or 0
+
+        if now - last >= tonumber(ARGV[4]) then
+            rate = math.max(tonumber(ARGV[2]), rate * tonumber(ARGV[3]))
+            redis.call('HSET', KEYS[1], 'rate', tostring(rate), 'last_decrease', now, 'last_increase', now)
+            redis.call('EXPIRE', KEYS[1], 86400)
+        end
+        return tostring(rate)
+        """, String.class);
+
+    /**
+     * 가산 증가: ARGV[1] 시작 속도, ARGV[2] 상한, ARGV[3] 증가량, ARGV[4] 증가 간격(ms)
+     * 마지막 증가/감소 이후 간격이 지나지 않았으면 현재 속도만 반환
+     */
+    private static final DefaultRedisScript<String> INCREASE_SCRIPT = new DefaultRedisScript<>("""
+        redis.replicate_commands()
+        local time = redis.call('TIME')
+        local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+        local rate = tonumber(redis.call('HGET', KEYS[1], 'rate')) or tonumber(ARGV[1])
+        local last = tonumber(redis.call('HGET', KEYS[1], 'last_increase')) or 0
+
+        if now - last >= tonumber(ARGV[4]) and rate < tonumber(ARGV[2]) then
+            rate = math.min(tonumber(ARGV[2]), rate + tonumber(ARGV[3]))
+            redis.call('HSET', KEYS[1], 'rate', tostring(rate), 'last_increase', now)
+            redis.call('EXPIRE', KEYS[1], 86400)
+        end
+        return tostring(rate)
+        """, String.class);
+
+    /**
+     * 현재 속도가 반영된 설정 조회 (설정이 없으면 기본값)
+     * 버스트 용량도 현재 속도를 넘지 않도록 줄이되 interactiveReserve + 1 아래로는 내리지 않음
+     * (용량이 예약분 이하가 되면 백필/스케줄러가 토큰을 전혀 얻지 못함, 평균 속도는 용량과 무관하게 현재 속도를 따름)
+     */
+    public RateLimitProperties getProperties(String key) {
+        RateLimitProperties properties = resolveProperties(key);
+        if (properties == null) {
+            return RateLimitProperties.defaultConfig();
+        }
+        if (!properties.isAdaptive()) {
+            return properties;
+        }
+
+        Double rate = currentRates.get(key);
+        if (rate == null || rate == properties.getRefillRate()) {
+            return properties;
+        }
+        return properties.toBuilder()
+                .refillRate(rate)
+                .capacity(Math.max(properties.getInteractiveReserve() + 1,
+                        Math.min(properties.getCapacity(), (int) Math.floor(rate))))
+                .build();
+    }
+
+    /**
+     * 호출 성공 기록 (다음 동기화 때 가산 증가 판단에 사용)
+     */
+    public void onSuccess(String key) {
+        if (isAdaptive(key)) {
+            successCounts.computeIfAbsent(key, k -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * 외부 API의 호출 제한 응답 기록: 즉시 승산 감소
+     */
+    public void onThrottle(String key) {
+        RateLimitProperties properties = resolveProperties(key);
+        if (properties == null || !properties.isAdaptive()) {
+            return;
+        }
+
+        try {
+            String rate = redisTemplate.execute(
+                DECREASE_SCRIPT,
+                Collections.singletonList(KEY_PREFIX + key),
+                String.valueOf(properties.getRefillRate()),
+                String.valueOf(properties.getMinRefillRate()),
+                String.valueOf(properties.getDecreaseFactor()),
+                String.valueOf(DECREASE_COOLDOWN_MS)
+            );
+            updateRate(key, rate);
+            successCounts.computeIfAbsent(key, k -> new LongAdder()).reset();
+        } catch (Exception e) {
+            log.warn("적응형 속도 감소 실패: key={}, error={}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 1초마다 Redis의 속도와 동기화하고, 성공이 있었으면 가산 증가 시도
+     * 설정된 키와 이 노드가 사용한 하위 키가 대상
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void syncRates() {
+        Set<String> keys = new HashSet<>(rateLimitPropertiesMap.keySet());
+        keys.addAll(successCounts.keySet());
+        keys.addAll(currentRates.keySet());
+
+        keys.forEach(key -> {
+            RateLimitProperties properties = resolveProperties(key);
+            if (properties == null || !properties.isAdaptive()) {
+                return;
+            }
+
+            try {
+                LongAdder successes = successCounts.get(key);
+                String rate;
+                if (successes != null && successes.sumThenReset() > 0) {
+                    double maxRate = properties.getMaxRefillRate() > 0
+                            ? properties.getMaxRefillRate()
+                            : properties.getRefillRate();
+                    rate = redisTemplate.execute(
+                        INCREASE_SCRIPT,
+                        Collections.singletonList(KEY_PREFIX + key),
+                        String.valueOf(properties.getRefillRate()),
+                        String.valueOf(maxRate),
+                        String.valueOf(properties.getIncreaseStep()),
+                        String.valueOf(properties.getIncreaseIntervalMs())
+                    );
+                } else {
+                    Object stored = redisTemplate.opsForHash().get(KEY_PREFIX + key, "rate");
+                    rate = stored != null ? stored.toString() : null;
+                }
+                updateRate(key, rate);
+            } catch (Exception e) {
+                log.debug("적응형 속도 동기화 실패: key={}, error={}", key, e.getMessage());
+            }
+        });
+    }
+
+    private void updateRate(String key, String rate) {
+        if (rate == null) {
+            return;
+        }
+        double newRate = Double.parseDouble(rate);
+        Double oldRate = currentRates.put(key, newRate);
+        if (oldRate == null || Math.abs(oldRate - newRate) > 1e-9) {
+            log.info("적응형 Rate Limit 변경: key={}, rate={} -> {}", key, oldRate, newRate);
+        }
+    }
+
+    private boolean isAdaptive(String key) {
+        RateLimitProperties properties = resolveProperties(key);
+        return properties != null && properties.isAdaptive();
+    }
+
+    /**
+     * 키의 설정 조회 (없으면 ':' 앞의 상위 키 설정, 그것도 없으면 null)
+     */
+    private RateLimitProperties resolveProperties(String key) {
+        RateLimitProperties properties = rateLimitPropertiesMap.get(key);
+        if (properties != null) {
+            return properties;
+        }
+        int separator = key.indexOf(':');
+        return separator > 0 ? rateLimitPropertiesMap.get(key.substring(0, separator)) : null;
+    }
+}
@@ -0,0 +1,317 @@
+package com.monstersinc.stock101.common.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Redis 기반 GCRA(Generic Cell Rate Algorithm) Rate Limiter 구현
+ * 버킷 대신 "다음 허용 이론 시각(TAT)" 하나만 저장하므로 소수점 리필 손실 없이 설정한 속도를 그대로 냄
+ * - 토큰 간격 T = 1 / refillRate, 버스트 허용 폭 = capacity * T
+ * - 시각은 Redis 서버 시간(TIME)을 사용하여 노드 간 시계 차이의 영향을 받지 않음
+ * - acquire는 최대 대기 시간 안에 허용될 슬롯을 미리 예약하고 그 시각까지 한 번만 대기 (폴링 없음)
+ * - 백필/스케줄러 호출은 interactiveReserve만큼의 버스트를 사용자 요청용으로 남겨 둠
+ * ratelimit.algorithm=token-bucket이면 기존 {@link RedisRateLimiter} 사용 (호출 주체 구분 없음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ratelimit.algorithm", havingValue = "gcra", matchIfMissing = true)
+public class GcraRateLimiter implements LeasableRateLimiter {
+
+    private final StringRedisTemplate redisTemplate;
+    private final AdaptiveRateController adaptiveRateController;
+
+    private static final String KEY_PREFIX = "ratelimit:gcra:";
+
+    /**
+     * 공통: Redis 서버 시각(마이크로초)과 현재 TAT 계산
+     * TAT는 정밀도 손실이 없도록 정수 문자열로 저장
+     */
+    private static final String LOAD_STATE = """
+        redis.replicate_commands()
+        local time = redis.call('TIME')
+        local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+        local interval = 1000000 / tonumber(ARGV[2])
+        local burst = tonumber(ARGV[1]) * interval
+        local tat = tonumber(redis.call('GET', KEYS[1]))
+        if tat == nil or tat < now then
+            tat = now
+        end
+        """;
+
+    private static final String SAVE_STATE = """
+        local function save(new_tat)
+            local ttl = math.ceil((new_tat - now) / 1000) + 1000
+            redis.call('SET', KEYS[1], string.format('%.0f', new_tat), 'PX', ttl)
+        end
+        """;
+
+    /**
+     * 최대 ARGV[3]개의 허용을 즉시 가져감
+     * 반환: {받은 개수, 받지 못했을 때 다음 허용까지 남은 밀리초}
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> LEASE_SCRIPT = new DefaultRedisScript<>(LOAD_STATE + SAVE_STATE + """
+        local requested = tonumber(ARGV[3])
+        local available = math.floor((now - tat + burst) / interval)
+        local granted = math.min(requested, available)
+
+        if granted >= 1 then
+            save(tat + granted * interval)
+            return {granted, 0}
+        end
+        return {0, math.ceil((tat + interval - burst - now) / 1000)}
+        """, List.class);
+
+    /**
+     * 최대 ARGV[3]밀리초 안에 허용되는 슬롯이면 예약
+     * 반환: 예약 성공 시 허용 시각까지 대기할 밀리초(0 이상), 실패 시 -1
+     */
+    private static final DefaultRedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>(LOAD_STATE + SAVE_STATE + """
+        local max_wait = tonumber(ARGV[3]) * 1000
+        local new_tat = tat + interval
+        local wait = new_tat - burst - now
+        if wait < 0 then
+            wait = 0
+        end
+
+        if wait > max_wait then
+            return -1
+        end
+        save(new_tat)
+        return math.ceil(wait / 1000)
+        """, Long.class);
+
+    /**
+     * 백필/스케줄러 호출용 즉시 획득
+     * - 공유 키: 사용자 요청용 예약분(ARGV[3]개)을 뺀 버스트 안에서만 허용 (미래 슬롯은 예약하지 않음)
+     * - 주체 키(KEYS[2]): 비율(ARGV[4])이 1보다 작으면 rate * 비율 속도를 넘지 않음
+     * 반환: 0이면 획득, 아니면 재시도까지 남은 밀리초
+     */
+    private static final DefaultRedisScript<Long> TENANT_TAKE_SCRIPT = new DefaultRedisScript<>(LOAD_STATE + SAVE_STATE + """
+        local reserve = tonumber(ARGV[3])
+        local share = tonumber(ARGV[4])
+        local tenant_burst = math.max(interval, burst - reserve * interval)
+        local wait = tat + interval - tenant_burst - now
+
+        local tenant_interval = interval / share
+        local tenant_tat = now
+        if share < 1 then
+            tenant_tat = tonumber(redis.call('GET', KEYS[2])) or now
+            if tenant_tat < now then
+                tenant_tat = now
+            end
+            wait = math.max(wait, tenant_tat - now)
+        end
+
+        if wait > 0 then
+            return math.max(1, math.ceil(wait / 1000))
+        end
+
+        save(tat + interval)
+        if share < 1 then
+            local next_tat = tenant_tat + tenant_interval
+            redis.call('SET', KEYS[2], string.format('%.0f', next_tat), 'PX', math.ceil((next_tat - now) / 1000) + 1000)
+        end
+        return 0
+        """, Long.class);
+
+    /**
+     * 쓰지 않은 허용 반납 (TAT를 되돌리되 현재 시각 이전으로는 가지 않음)
+     */
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(LOAD_STATE + SAVE_STATE + """
+        local new_tat = math.max(now, tat - tonumber(ARGV[3]) * interval)
+        save(new_tat)
+        return 1
+        """, Long.class);
+
+    /**
+     * 현재 즉시 허용 가능한 개수
+     */
+    private static final DefaultRedisScript<Long> AVAILABLE_SCRIPT = new DefaultRedisScript<>(LOAD_STATE + """
+        return math.max(0, math.floor((now - tat + burst) / interval))
+        """, Long.class);
+
+    @Override
+    public boolean acquire(String key, long maxWaitMs) throws InterruptedException {
+        long waitMs = reserve(key, maxWaitMs);
+        if (waitMs < 0) {
+            log.warn("Rate Limit 획득 실패: key={}, maxWaitMs={}", key, maxWaitMs);
+            return false;
+        }
+
+        // 예약한 슬롯 시각까지 한 번만 대기
+        if (waitMs > 0) {
+            Thread.sleep(waitMs);
+        }
+        return true;
+    }
+
+    /**
+     * 호출 주체별 획득
+     * 사용자 요청은 슬롯을 예약하고 한 번만 대기, 백필/스케줄러는 예약분을 침범하지 않고 남는 용량이 생길 때까지 대기
+     * (백그라운드 호출이 미래 슬롯을 예약해 두면 사용자 요청이 그 뒤로 밀리므로 예약하지 않음)
+     */
+    @Override
+    public boolean acquire(String key, RateLimitTenant tenant, long maxWaitMs) throws InterruptedException {
+        if (tenant == RateLimitTenant.INTERACTIVE) {
+            return acquire(key, maxWaitMs);
+        }
+
+        long deadline = System.currentTimeMillis() + maxWaitMs;
+        while (true) {
+            long retryAfterMs = takeForTenant(key, tenant);
+            if (retryAfterMs == 0) {
+                return true;
+            }
+
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                log.warn("Rate Limit 획득 실패: key={}, tenant={}, maxWaitMs={}", key, tenant, maxWaitMs);
+                return false;
+            }
+
+            // 다음 허용 시각까지만 대기 후 재시도
+            Thread.sleep(Math.min(retryAfterMs, remaining));
+        }
+    }
+
+    @Override
+    public boolean tryAcquire(String key) {
+        boolean acquired = reserve(key, 0) == 0;
+        if (!acquired) {
+            log.debug("Rate Limit 허용 부족: key={}", key);
+        }
+        return acquired;
+    }
+
+    @Override
+    public RateLimitLease lease(String key, int count) {
+        try {
+            RateLimitProperties properties = getProperties(key);
+            List<?> result = redisTemplate.execute(
+                LEASE_SCRIPT,
+                Collections.singletonList(KEY_PREFIX + key),
+                String.valueOf(properties.getCapacity()),
+                String.valueOf(properties.getRefillRate()),
+                String.valueOf(count)
+            );
+
+            if (result == null || result.size() < 2) {
+                return RateLimitLease.of(count, 0);
+            }
+            return RateLimitLease.of(
+                ((Number) result.get(0)).intValue(),
+                ((Number) result.get(1)).longValue()
+            );
+
+        } catch (Exception e) {
+            log.error("Rate Limiter 오류 발생, 기본 허용 처리: key={}, error={}", key, e.getMessage());
+            // Redis 장애 시 서비스 중단 방지 - 기본적으로 허용
+            return RateLimitLease.of(count, 0);
+        }
+    }
+
+    @Override
+    public void release(String key, int count) {
+        if (count <= 0) {
+            return;
+        }
+        try {
+            RateLimitProperties properties = getProperties(key);
+            redisTemplate.execute(
+                RELEASE_SCRIPT,
+                Collections.singletonList(KEY_PREFIX + key),
+                String.valueOf(properties.getCapacity()),
+                String.valueOf(properties.getRefillRate()),
+                String.valueOf(count)
+            );
+        } catch (Exception e) {
+            log.warn("허용 반납 실패: key={}, count={}, error={}", key, count, e.getMessage());
+        }
+    }
+
+    @Override
+    public int getAvailableTokens(String key) {
+        try {
+            RateLimitProperties properties = getProperties(key);
+            Long available = redisTemplate.execute(
+                AVAILABLE_SCRIPT,
+                Collections.singletonList(KEY_PREFIX + key),
+                String.valueOf(properties.getCapacity()),
+                String.valueOf(properties.getRefillRate())
+            );
+
+            return available != null ? available.intValue() : properties.getCapacity();
+
+        } catch (Exception e) {
+            log.error("허용 수 조회 실패: key={}, error={}", key, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * 백필/스케줄러 호출용 즉시 획득 시도
+     *
+     * @return 0이면 획득, 아니면 재시도까지 남은 밀리초
+     */
+    private long takeForTenant(String key, RateLimitTenant tenant) {
+        try {
+            RateLimitProperties properties = getProperties(key);
+            Long retryAfterMs = redisTemplate.execute(
+                TENANT_TAKE_SCRIPT,
+                List.of(KEY_PREFIX + key, KEY_PREFIX + key + ":" + tenant.name().toLowerCase()),
+                String.valueOf(properties.getCapacity()),
+                String.valueOf(properties.getRefillRate()),
+                String.valueOf(properties.getInteractiveReserve()),
+                String.valueOf(properties.getTenantShare(tenant))
+            );
+
+            return retryAfterMs != null ? retryAfterMs : 0;
+
+        } catch (Exception e) {
+            log.error("Rate Limiter 오류 발생, 기본 허용 처리: key={}, error={}", key, e.getMessage());
+            // Redis 장애 시 서비스 중단 방지 - 기본적으로 허용
+            return 0;
+        }
+    }
+
+    /**
+     * 최대 대기 시간 안의 슬롯 예약
+     *
+     * @return 대기할 밀리초 (예약 실패 시 -1)
+     */
+    private long reserve(String key, long maxWaitMs) {
+        try {
+            RateLimitProperties properties = getProperties(key);
+            Long waitMs = redisTemplate.execute(
+                RESERVE_SCRIPT,
+                Collections.singletonList(KEY_PREFIX + key),
+                String.valueOf(properties.getCapacity()),
+                String.valueOf(properties.getRefillRate()),
+                String.valueOf(maxWaitMs)
+            );
+
+            return waitMs != null ? waitMs : 0;
+
+        } catch (Exception e) {
+            log.error("Rate Limiter 오류 발생, 기본 허용 처리: key={}, error={}", key, e.getMessage());
+            // Redis 장애 시 서비스 중단 방지 - 기본적으로 허용
+            return 0;
+        }
+    }
+
+    /**
+     * 설정 조회 (설정이 없으면 기본값, 적응형이면 현재 속도 반영)
+     */
+    private RateLimitProperties getProperties(String key) {
+        return adaptiveRateController.getProperties(key);
+    }
+}
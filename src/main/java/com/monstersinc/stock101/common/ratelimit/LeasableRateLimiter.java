@@ -0,0 +1,25 @@
+package com.monstersinc.stock101.common.ratelimit;
+
+/**
+ * 토큰을 여러 개 한 번에 빌려줄 수 있는 Rate Limiter
+ * 노드 로컬에서 빌려온 토큰을 나눠 쓰는 {@link LeasingRateLimiter}가 사용
+ */
+public interface LeasableRateLimiter extends RateLimiter {
+
+    /**
+     * 공유 버킷에서 최대 count개의 토큰을 한 번에 가져옴 (논블로킹)
+     *
+     * @param key   제한 대상 키
+     * @param count 요청 토큰 수
+     * @return 받은 토큰 수와 부족할 때의 재시도 대기 시간
+     */
+    RateLimitLease lease(String key, int count);
+
+    /**
+     * 쓰지 않은 토큰을 공유 버킷에 반납 (버킷 용량을 넘지 않음)
+     *
+     * @param key   제한 대상 키
+     * @param count 반납할 토큰 수
+     */
+    void release(String key, int count);
+}
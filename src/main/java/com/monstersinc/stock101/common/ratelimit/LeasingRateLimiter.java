@@ -0,0 +1,167 @@
+package com.monstersinc.stock101.common.ratelimit;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 노드 로컬 토큰 임대 Rate Limiter
+ * 공유 Redis 버킷에서 leaseSize개씩 토큰을 빌려와 로컬에서 네트워크 없이 나눠 줌
+ * - 빌려온 토큰은 Redis 버킷에서 이미 빠진 것이므로 클러스터 전체 한도는 그대로 유지
+ * - leaseTtlMs가 지난 토큰과 종료 시 남은 토큰은 버킷에 반납
+ * - 같은 키의 임대 호출은 노드 안에서 한 번에 하나만 수행
+ * - 즉시 받을 토큰이 없으면 위임 구현의 acquire로 대기
+ */
+@Slf4j
+@Primary
+@Component
+@RequiredArgsConstructor
+public class LeasingRateLimiter implements RateLimiter {
+
+    private final LeasableRateLimiter delegate;
+    private final AdaptiveRateController adaptiveRateController;
+
+    /**
+     * 키별 로컬 임대 토큰
+     */
+    private final Map<String, LocalLease> leases = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean acquire(String key, long maxWaitMs) throws InterruptedException {
+        if (tryAcquireLocal(key)) {
+            return true;
+        }
+
+        // 로컬 토큰도 즉시 임대도 없으면 위임 구현 방식으로 대기 (GCRA는 슬롯을 예약하고 한 번만 대기)
+        return delegate.acquire(key, maxWaitMs);
+    }
+
+    /**
+     * 백필/스케줄러 호출은 남아 있는 로컬 토큰만 쓰고 새로 임대하지 않음
+     * (임대는 사용자 요청용 예약분까지 가져갈 수 있으므로 위임 구현의 주체별 획득으로 대기)
+     */
+    @Override
+    public boolean acquire(String key, RateLimitTenant tenant, long maxWaitMs) throws InterruptedException {
+        if (tenant == RateLimitTenant.INTERACTIVE) {
+            return acquire(key, maxWaitMs);
+        }
+        if (tryAcquireLocal(key, false)) {
+            return true;
+        }
+        return delegate.acquire(key, tenant, maxWaitMs);
+    }
+
+    @Override
+    public boolean tryAcquire(String key) {
+        return tryAcquireLocal(key);
+    }
+
+    @Override
+    public boolean hasLocalTokens(String key) {
+        LocalLease lease = leases.get(key);
+        return lease != null && lease.remaining() > 0;
+    }
+
+    @Override
+    public int getAvailableTokens(String key) {
+        LocalLease lease = leases.get(key);
+        int local = lease != null ? lease.remaining() : 0;
+        return delegate.getAvailableTokens(key) + local;
+    }
+
+    /**
+     * 로컬 토큰을 쓰거나 Redis에서 새로 빌려옴 (논블로킹)
+     */
+    private boolean tryAcquireLocal(String key) {
+        return tryAcquireLocal(key, true);
+    }
+
+    /**
+     * 로컬 토큰 사용 (allowLease면 로컬 토큰이 없을 때 Redis에서 새로 빌려옴)
+     */
+    private boolean tryAcquireLocal(String key, boolean allowLease) {
+        RateLimitProperties properties = getProperties(key);
+        LocalLease lease = leases.computeIfAbsent(key, k -> new LocalLease());
+
+        lease.lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+
+            // 유효 시간이 지난 토큰은 반납
+            if (lease.tokens > 0 && now >= lease.expiresAt) {
+                delegate.release(key, lease.tokens);
+                lease.tokens = 0;
+            }
+
+            if (lease.tokens > 0) {
+                lease.tokens--;
+                return true;
+            }
+            if (!allowLease) {
+                return false;
+            }
+
+            RateLimitLease granted = delegate.lease(key, Math.max(1, properties.getLeaseSize()));
+            if (granted.getGranted() > 0) {
+                lease.tokens = granted.getGranted() - 1;
+                lease.expiresAt = now + properties.getLeaseTtlMs();
+                return true;
+            }
+            return false;
+
+        } finally {
+            lease.lock.unlock();
+        }
+    }
+
+    /**
+     * 종료 시 쓰지 않은 토큰을 공유 버킷에 반납
+     */
+    @PreDestroy
+    public void releaseAll() {
+        leases.forEach((key, lease) -> {
+            lease.lock.lock();
+            try {
+                if (lease.tokens > 0) {
+                    delegate.release(key, lease.tokens);
+                    log.info("Rate Limit 임대 토큰 반납: key={}, tokens={}", key, lease.tokens);
+                    lease.tokens = 0;
+                }
+            } finally {
+                lease.lock.unlock();
+            }
+        });
+    }
+
+    /**
+     * 설정 조회 (설정이 없으면 기본값, 적응형이면 현재 속도 반영)
+     */
+    private RateLimitProperties getProperties(String key) {
+        return adaptiveRateController.getProperties(key);
+    }
+
+    /**
+     * 키별 로컬 임대 상태 (가상 스레드 고정을 피하기 위해 synchronized 대신 ReentrantLock 사용)
+     */
+    private static class LocalLease {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private int tokens;
+        private long expiresAt;
+
+        int remaining() {
+            lock.lock();
+            try {
+                return System.currentTimeMillis() < expiresAt ? tokens : 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
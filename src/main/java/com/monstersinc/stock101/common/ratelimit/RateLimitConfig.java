@@ -19,18 +19,28 @@ public class RateLimitConfig {
     public Map<String, RateLimitProperties> rateLimitPropertiesMap() {
         Map<String, RateLimitProperties> config = new HashMap<>();
 
-        // KIS API: 1초에 2회
+        // KIS API: 1초에 2회로 시작, 호출 제한(EGW00201) 응답에 맞춰 0.5 ~ 20회 사이에서 조절
         config.put("KIS_API", RateLimitProperties.builder()
                 .capacity(2)           // 버킷 크기: 2개 (동시에 2개까지 버스트 가능)
-                .refillRate(2.0)       // 초당 2개 토큰 생성
+                .refillRate(2.0)       // 초당 2개 토큰 생성 (시작 속도)
                 .maxWaitMs(5000)       // 최대 5초 대기
+                .leaseSize(1)          // 초당 2회뿐이므로 한 노드가 버스트를 독점하지 않도록 1개씩
+                .adaptive(true)
+                .minRefillRate(0.5)
+                .maxRefillRate(20.0)   // 실전 계좌 초당 한도
+                .interactiveReserve(1) // 버스트 1개는 사용자 요청용으로 남겨 둠 (속도를 줄여도 용량은 2 이상 유지)
+                .tenantShares(Map.of(RateLimitTenant.SCHEDULED, 0.5))
                 .build());
 
-        // DART API: 1초에 5회 (보수적 설정)
+        // DART API: 1초에 5회 (보수적 설정), 호출 제한(020) 응답 시에만 줄였다가 5회까지 회복
         config.put("DART_API", RateLimitProperties.builder()
                 .capacity(5)
                 .refillRate(5.0)
                 .maxWaitMs(3000)
+                .leaseSize(2)          // 2개씩 빌려와 로컬에서 소비
+                .adaptive(true)
+                .minRefillRate(1.0)
+                .maxRefillRate(5.0)    // 초과 호출 시 IP 차단 위험이 있으므로 설정값 이상으로는 올리지 않음
                 .build());
 
         return config;
@@ -0,0 +1,22 @@
+package com.monstersinc.stock101.common.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Redis 버킷에서 한 번에 빌려온 토큰 결과
+ */
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class RateLimitLease {
+
+    /**
+     * 실제로 받은 토큰 수 (0이면 버킷이 비어 있음)
+     */
+    private final int granted;
+
+    /**
+     * 토큰을 받지 못했을 때 다음 토큰이 생길 때까지 남은 시간 (밀리초)
+     */
+    private final long retryAfterMs;
+}
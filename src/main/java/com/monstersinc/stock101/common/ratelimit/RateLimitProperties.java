@@ -3,11 +3,13 @@ package com.monstersinc.stock101.common.ratelimit;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.util.Map;
+
 /**
  * Rate Limit 설정 속성
  */
 @Getter
-@Builder
+@Builder(toBuilder = true)
 public class RateLimitProperties {
 
     /**
@@ -25,6 +27,79 @@ public class RateLimitProperties {
      */
     private final long maxWaitMs;
 
+    /**
+     * 노드가 공유 버킷에서 한 번에 빌려올 토큰 수
+     * 클수록 Redis 호출이 줄지만 한 노드가 버스트를 독점할 수 있으므로 capacity보다 작게 설정
+     */
+    @Builder.Default
+    private final int leaseSize = 1;
+
+    /**
+     * 빌려온 토큰의 로컬 유효 시간 (밀리초)
+     * 오래 묵힌 토큰이 새로 채워진 버킷과 겹쳐 한도를 넘지 않도록 만료되면 반납
+     */
+    @Builder.Default
+    private final long leaseTtlMs = 1000;
+
+    /**
+     * 적응형 속도 조절 사용 여부 (AIMD)
+     * 성공이 이어지면 refillRate를 조금씩 올리고, 외부 API가 호출 제한 응답을 주면 절반으로 줄임
+     * refillRate는 시작 속도로 사용
+     */
+    @Builder.Default
+    private final boolean adaptive = false;
+
+    /**
+     * 적응형 속도 하한 (초당 토큰 수)
+     */
+    @Builder.Default
+    private final double minRefillRate = 0.5;
+
+    /**
+     * 적응형 속도 상한 (초당 토큰 수, 0이면 refillRate)
+     */
+    private final double maxRefillRate;
+
+    /**
+     * 성공이 이어질 때 한 번에 올릴 속도 (가산 증가)
+     */
+    @Builder.Default
+    private final double increaseStep = 0.5;
+
+    /**
+     * 속도를 올리는 최소 간격 (밀리초)
+     */
+    @Builder.Default
+    private final long increaseIntervalMs = 10000;
+
+    /**
+     * 호출 제한 응답 시 속도에 곱할 값 (승산 감소)
+     */
+    @Builder.Default
+    private final double decreaseFactor = 0.5;
+
+    /**
+     * 사용자 요청(INTERACTIVE)만 쓸 수 있도록 남겨 둘 버스트 토큰 수
+     * 백필/스케줄러 호출은 버킷에 이보다 많은 토큰이 있을 때만 가져감
+     * 적응형 조절로 속도가 줄어도 용량은 interactiveReserve + 1 아래로 내리지 않음 (그래야 백필/스케줄러도 토큰을 얻을 수 있음)
+     */
+    @Builder.Default
+    private final int interactiveReserve = 0;
+
+    /**
+     * 호출 주체별 최대 사용 비율 (0 ~ 1, 없으면 1)
+     * 다른 주체가 쉬고 있어도 이 비율을 넘지 않음
+     */
+    @Builder.Default
+    private final Map<RateLimitTenant, Double> tenantShares = Map.of();
+
+    /**
+     * 호출 주체의 최대 사용 비율
+     */
+    public double getTenantShare(RateLimitTenant tenant) {
+        return tenantShares.getOrDefault(tenant, 1.0);
+    }
+
     /**
      * 기본 설정 (1초에 1회, 최대 1개 토큰)
      */
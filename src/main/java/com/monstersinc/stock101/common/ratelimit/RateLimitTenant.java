@@ -0,0 +1,23 @@
+package com.monstersinc.stock101.common.ratelimit;
+
+/**
+ * 같은 Rate Limit 키를 나눠 쓰는 호출 주체
+ * 사용자가 기다리는 호출이 대량 백필에 밀리지 않도록 구분
+ */
+public enum RateLimitTenant {
+
+    /**
+     * 사용자 요청 (차트 조회 등) - 예약된 버스트를 사용하고 대기 슬롯을 예약할 수 있음
+     */
+    INTERACTIVE,
+
+    /**
+     * 백그라운드 백필 (Queue Worker) - 예약분을 남겨 두고 남는 용량만 사용
+     */
+    BACKFILL,
+
+    /**
+     * 스케줄러 작업 - 예약분을 남겨 두고 설정된 비율 안에서만 사용
+     */
+    SCHEDULED
+}
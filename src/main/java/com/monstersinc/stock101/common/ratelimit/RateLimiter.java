@@ -17,6 +17,20 @@ public interface RateLimiter {
      */
     boolean acquire(String key, long maxWaitMs) throws InterruptedException;
 
+    /**
+     * 호출 주체를 구분한 토큰 획득 시도 (블로킹)
+     * 주체별 몫을 지원하지 않는 구현은 주체와 관계없이 {@link #acquire(String, long)}와 같음
+     *
+     * @param key 제한 대상 키
+     * @param tenant 호출 주체
+     * @param maxWaitMs 최대 대기 시간 (밀리초)
+     * @return 획득 성공 여부
+     * @throws InterruptedException 대기 중 인터럽트 발생 시
+     */
+    default boolean acquire(String key, RateLimitTenant tenant, long maxWaitMs) throws InterruptedException {
+        return acquire(key, maxWaitMs);
+    }
+
     /**
      * 토큰 획득 시도 (논블로킹)
      * 즉시 토큰을 얻을 수 있으면 true, 아니면 false 반환
@@ -26,6 +40,16 @@ public interface RateLimiter {
      */
     boolean tryAcquire(String key);
 
+    /**
+     * 네트워크 조회 없이 바로 쓸 수 있는 노드 로컬 토큰이 있는지 (로컬 임대를 하지 않는 구현은 항상 false)
+     *
+     * @param key 제한 대상 키
+     * @return 로컬에 남은 토큰이 있으면 true
+     */
+    default boolean hasLocalTokens(String key) {
+        return false;
+    }
+
     /**
      * 현재 가용 토큰 수 조회
      *
@@ -2,36 +2,43 @@ package com.monstersinc.stock101.common.ratelimit;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
-import java.util.Map;
+import java.util.List;
 
 /**
  * Redis 기반 Rate Limiter 구현
  * Token Bucket 알고리즘 사용
+ * 토큰이 부족하면 다음 토큰이 생길 때까지 남은 시간만큼만 대기 후 재시도
+ * ratelimit.algorithm=token-bucket일 때만 사용 (기본값은 {@link GcraRateLimiter})
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class RedisRateLimiter implements RateLimiter {
+@ConditionalOnProperty(name = "ratelimit.algorithm", havingValue = "token-bucket")
+public class RedisRateLimiter implements LeasableRateLimiter {
 
     private final StringRedisTemplate redisTemplate;
-    private final Map<String, RateLimitProperties> rateLimitPropertiesMap;
+    private final AdaptiveRateController adaptiveRateController;
 
     private static final String KEY_PREFIX = "ratelimit:";
 
     /**
      * Lua 스크립트로 원자성 보장
-     * Token Bucket 알고리즘 구현
+     * Token Bucket 알고리즘 구현: 최대 ARGV[4]개 토큰을 한 번에 가져감
+     * 반환: {받은 토큰 수, 받지 못했을 때 다음 토큰까지 남은 밀리초}
      */
-    private static final String LUA_SCRIPT = """
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> LEASE_SCRIPT = new DefaultRedisScript<>("""
         local key = KEYS[1]
         local capacity = tonumber(ARGV[1])
         local refill_rate = tonumber(ARGV[2])
         local now = tonumber(ARGV[3])
+        local requested = tonumber(ARGV[4])
 
         -- 현재 버킷 상태 조회
         local bucket = redis.call('HMGET', key, 'tokens', 'last_refill')
@@ -44,30 +51,41 @@ public class RedisRateLimiter implements RateLimiter {
             last_refill = now
         end
 
-        -- 경과 시간 계산 및 토큰 리필
-        local elapsed = now - last_refill
-        local refilled = math.floor(elapsed * refill_rate)
+        -- 경과 시간만큼 토큰 리필 (소수점 이하도 누적)
+        local elapsed = math.max(0, now - last_refill)
+        tokens = math.min(capacity, tokens + elapsed * refill_rate)
 
-        if refilled > 0 then
-            tokens = math.min(capacity, tokens + refilled)
-            last_refill = now
+        -- 토큰 소비 시도
+        local granted = math.min(requested, math.floor(tokens))
+        tokens = tokens - granted
+        redis.call('HMSET', key, 'tokens', tokens, 'last_refill', now)
+        redis.call('EXPIRE', key, 60)  -- 60초 후 자동 삭제
+
+        if granted > 0 then
+            return {granted, 0}
         end
+        return {0, math.ceil((1 - tokens) / refill_rate * 1000)}
+        """, List.class);
 
-        -- 토큰 소비 시도
-        if tokens >= 1 then
-            tokens = tokens - 1
-            redis.call('HMSET', key, 'tokens', tokens, 'last_refill', last_refill)
-            redis.call('EXPIRE', key, 60)  -- 60초 후 자동 삭제
-            return 1  -- 성공
-        else
-            return 0  -- 토큰 부족
+    /**
+     * Lua 스크립트: 쓰지 않은 토큰 반납 (버킷 용량까지만)
+     */
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+        local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'last_refill')
+        local tokens = tonumber(bucket[1])
+        if tokens == nil then
+            return 0
         end
-        """;
+
+        tokens = math.min(tonumber(ARGV[1]), tokens + tonumber(ARGV[2]))
+        redis.call('HSET', KEYS[1], 'tokens', tokens)
+        return 1
+        """, Long.class);
 
     /**
      * Lua 스크립트: 현재 토큰 수 조회
      */
-    private static final String LUA_SCRIPT_GET_TOKENS = """
+    private static final DefaultRedisScript<Long> GET_TOKENS_SCRIPT = new DefaultRedisScript<>("""
         local key = KEYS[1]
         local capacity = tonumber(ARGV[1])
         local refill_rate = tonumber(ARGV[2])
@@ -81,27 +99,29 @@ public class RedisRateLimiter implements RateLimiter {
             return capacity
         end
 
-        local elapsed = now - last_refill
-        local refilled = math.floor(elapsed * refill_rate)
-
-        if refilled > 0 then
-            tokens = math.min(capacity, tokens + refilled)
-        end
+        local elapsed = math.max(0, now - last_refill)
+        tokens = math.min(capacity, tokens + elapsed * refill_rate)
 
         return math.floor(tokens)
-        """;
+        """, Long.class);
 
     @Override
     public boolean acquire(String key, long maxWaitMs) throws InterruptedException {
         long deadline = System.currentTimeMillis() + maxWaitMs;
 
-        while (System.currentTimeMillis() < deadline) {
-            if (tryAcquire(key)) {
+        while (true) {
+            RateLimitLease lease = lease(key, 1);
+            if (lease.getGranted() > 0) {
                 return true;
             }
 
-            // 50ms 대기 후 재시도
-            Thread.sleep(50);
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                break;
+            }
+
+            // 다음 토큰이 생길 때까지만 대기 후 재시도
+            Thread.sleep(Math.max(1, Math.min(lease.getRetryAfterMs(), remaining)));
         }
 
         log.warn("Rate Limit 획득 실패: key={}, maxWaitMs={}", key, maxWaitMs);
@@ -110,30 +130,58 @@ public class RedisRateLimiter implements RateLimiter {
 
     @Override
     public boolean tryAcquire(String key) {
+        boolean acquired = lease(key, 1).getGranted() > 0;
+        if (!acquired) {
+            log.debug("Rate Limit 토큰 부족: key={}", key);
+        }
+        return acquired;
+    }
+
+    @Override
+    public RateLimitLease lease(String key, int count) {
         try {
             RateLimitProperties properties = getProperties(key);
             String redisKey = KEY_PREFIX + key;
 
-            Long result = redisTemplate.execute(
-                new DefaultRedisScript<>(LUA_SCRIPT, Long.class),
+            List<?> result = redisTemplate.execute(
+                LEASE_SCRIPT,
                 Collections.singletonList(redisKey),
                 String.valueOf(properties.getCapacity()),
                 String.valueOf(properties.getRefillRate()),
-                String.valueOf(System.currentTimeMillis() / 1000.0)
+                String.valueOf(System.currentTimeMillis() / 1000.0),
+                String.valueOf(count)
             );
 
-            boolean acquired = result != null && result == 1;
-
-            if (!acquired) {
-                log.debug("Rate Limit 토큰 부족: key={}, available={}", key, getAvailableTokens(key));
+            if (result == null || result.size() < 2) {
+                return RateLimitLease.of(count, 0);
             }
-
-            return acquired;
+            return RateLimitLease.of(
+                ((Number) result.get(0)).intValue(),
+                ((Number) result.get(1)).longValue()
+            );
 
         } catch (Exception e) {
             log.error("Rate Limiter 오류 발생, 기본 허용 처리: key={}, error={}", key, e.getMessage());
             // Redis 장애 시 서비스 중단 방지 - 기본적으로 허용
-            return true;
+            return RateLimitLease.of(count, 0);
+        }
+    }
+
+    @Override
+    public void release(String key, int count) {
+        if (count <= 0) {
+            return;
+        }
+        try {
+            RateLimitProperties properties = getProperties(key);
+            redisTemplate.execute(
+                RELEASE_SCRIPT,
+                Collections.singletonList(KEY_PREFIX + key),
+                String.valueOf(properties.getCapacity()),
+                String.valueOf(count)
+            );
+        } catch (Exception e) {
+            log.warn("토큰 반납 실패: key={}, count={}, error={}", key, count, e.getMessage());
         }
     }
 
@@ -144,7 +192,7 @@ public class RedisRateLimiter implements RateLimiter {
             String redisKey = KEY_PREFIX + key;
 
             Long tokens = redisTemplate.execute(
-                new DefaultRedisScript<>(LUA_SCRIPT_GET_TOKENS, Long.class),
+                GET_TOKENS_SCRIPT,
                 Collections.singletonList(redisKey),
                 String.valueOf(properties.getCapacity()),
                 String.valueOf(properties.getRefillRate()),
@@ -160,9 +208,9 @@ public class RedisRateLimiter implements RateLimiter {
     }
 
     /**
-     * 설정 조회 (설정이 없으면 기본값)
+     * 설정 조회 (설정이 없으면 기본값, 적응형이면 현재 속도 반영)
      */
     private RateLimitProperties getProperties(String key) {
-        return rateLimitPropertiesMap.getOrDefault(key, RateLimitProperties.defaultConfig());
+        return adaptiveRateController.getProperties(key);
     }
 }
@@ -0,0 +1,253 @@
+package com.monstersinc.stock101.common.util;
+
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Redis 캐시 값용 바이너리 인코딩 유틸리티
+ * 값의 첫 바이트로 형식을 구분
+ * - '{': 예전 JSON 값 (읽기만 지원)
+ * - FORMAT_RAW: 바이너리 본문
+ * - FORMAT_DEFLATE: Deflate로 압축한 바이너리 본문 (앞에 원본 길이 포함)
+ */
+public final class BinaryCacheCodec {
+
+    private BinaryCacheCodec() {}
+
+    public static final byte FORMAT_RAW = 0x01;
+    public static final byte FORMAT_DEFLATE = 0x02;
+    private static final byte LEGACY_JSON = '{';
+
+    /**
+     * 이 크기 이상일 때만 압축 (작은 값은 압축 헤더가 더 큼)
+     */
+    private static final int COMPRESS_THRESHOLD = 256;
+
+    /**
+     * 본문에 형식 바이트를 붙여 저장용 값 생성
+     *
+     * @param body     바이너리 본문
+     * @param compress 압축 사용 여부
+     */
+    public static byte[] frame(byte[] body, boolean compress) {
+        if (compress && body.length >= COMPRESS_THRESHOLD) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                deflater.setInput(body);
+                deflater.finish();
+                Writer writer = new Writer(body.length / 2 + 16);
+                writer.writeByte(FORMAT_DEFLATE);
+                writer.writeVarLong(body.length);
+                byte[] buffer = new byte[1024];
+                while (!deflater.finished()) {
+                    int length = deflater.deflate(buffer);
+                    writer.writeBytes(buffer, 0, length);
+                }
+                byte[] framed = writer.toByteArray();
+                if (framed.length < body.length + 1) {
+                    return framed;
+                }
+            } finally {
+                deflater.end();
+            }
+        }
+
+        byte[] framed = new byte[body.length + 1];
+        framed[0] = FORMAT_RAW;
+        System.arraycopy(body, 0, framed, 1, body.length);
+        return framed;
+    }
+
+    /**
+     * 저장된 값에서 본문 추출 (압축 해제 포함)
+     *
+     * @param value 저장된 값
+     * @return 바이너리 본문
+     */
+    public static byte[] unframe(byte[] value) {
+        if (value[0] == FORMAT_RAW) {
+            return Arrays.copyOfRange(value, 1, value.length);
+        }
+        if (value[0] != FORMAT_DEFLATE) {
+            throw new IllegalArgumentException("알 수 없는 캐시 형식: " + value[0]);
+        }
+
+        Reader header = new Reader(value);
+        header.readByte();
+        int length = (int) header.readVarLong();
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(value, header.position, value.length - header.position);
+            byte[] body = new byte[length];
+            int offset = 0;
+            while (offset < length && !inflater.finished()) {
+                int inflated = inflater.inflate(body, offset, length - offset);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    // 잘린 값: 더 넣을 입력이 없으므로 계속 돌지 않고 실패 처리 (호출 측은 캐시 미스로 취급)
+                    throw new IllegalArgumentException("캐시 압축 값이 잘림: " + offset + "/" + length);
+                }
+                offset += inflated;
+            }
+            if (offset < length) {
+                throw new IllegalArgumentException("캐시 압축 해제 길이 불일치: " + offset + "/" + length);
+            }
+            return body;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("캐시 압축 해제 실패", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 예전 JSON 형식으로 저장된 값인지 확인
+     */
+    public static boolean isLegacyJson(byte[] value) {
+        return value.length > 0 && value[0] == LEGACY_JSON;
+    }
+
+    /**
+     * 바이너리 값 저장 (StringRedisTemplate의 문자열 직렬화를 거치지 않음)
+     */
+    public static void set(StringRedisTemplate redisTemplate, String key, byte[] value, Duration ttl) {
+        byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+        redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+                .set(rawKey, value, Expiration.from(ttl), RedisStringCommands.SetOption.upsert()));
+    }
+
+    /**
+     * 바이너리 값 조회 (없으면 null)
+     */
+    public static byte[] get(StringRedisTemplate redisTemplate, String key) {
+        byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+        return redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(rawKey));
+    }
+
+    /**
+     * 바이너리 본문 작성기 (가변 길이 정수, 길이 접두 문자열)
+     * 바이트 단위로 자주 쓰므로 ByteArrayOutputStream(메서드마다 synchronized) 대신 배열에 직접 기록
+     */
+    public static final class Writer {
+
+        private byte[] buffer;
+        private int size;
+
+        public Writer(int initialSize) {
+            this.buffer = new byte[Math.max(16, initialSize)];
+        }
+
+        public void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) value;
+        }
+
+        public void writeBoolean(boolean value) {
+            writeByte(value ? 1 : 0);
+        }
+
+        public void writeBytes(byte[] bytes, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, offset, buffer, size, length);
+            size += length;
+        }
+
+        /**
+         * 음수가 아닌 정수를 7비트 단위 가변 길이로 기록
+         */
+        public void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        /**
+         * 부호 있는 정수를 zigzag 변환 후 가변 길이로 기록 (작은 음수도 짧게 저장)
+         */
+        public void writeSignedVarLong(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        /**
+         * 문자열 기록 (길이 + 1, 0이면 null)
+         */
+        public void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            writeBytes(bytes, 0, bytes.length);
+        }
+
+        public byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+
+    /**
+     * 바이너리 본문 판독기 ({@link Writer}의 역순)
+     */
+    public static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        public Reader(byte[] data) {
+            this.data = data;
+        }
+
+        public int readByte() {
+            return data[position++] & 0xFF;
+        }
+
+        public boolean readBoolean() {
+            return readByte() != 0;
+        }
+
+        public long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        public long readSignedVarLong() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        public String readString() {
+            int length = (int) readVarLong();
+            if (length == 0) {
+                return null;
+            }
+            String value = new String(data, position, length - 1, StandardCharsets.UTF_8);
+            position += length - 1;
+            return value;
+        }
+    }
+}
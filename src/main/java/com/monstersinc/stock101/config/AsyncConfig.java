@@ -0,0 +1,26 @@
+package com.monstersinc.stock101.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    // @Async 실행기: 동시 실행 수는 core-size로 제한하고 넘치는 작업은 큐에서 대기 (호출 스레드는 막히지 않음)
+    // 가상 스레드 사용 시 Boot 기본 실행기(SimpleAsyncTaskExecutor)는 제한을 걸면 호출 스레드를 막으므로 직접 정의
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(
+            @Value("${spring.task.execution.pool.core-size:8}") int poolSize,
+            @Value("${spring.task.execution.pool.queue-capacity:2147483647}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setVirtualThreads(true);
+        executor.setThreadNamePrefix("async-");
+        return executor;
+    }
+}
@@ -2,6 +2,7 @@ package com.monstersinc.stock101.config;
 
 import com.monstersinc.stock101.auth.jwt.JwtAuthenticationFilter;
 import com.monstersinc.stock101.exception.handler.CustomAuthenticationEntryPoint;
+import com.monstersinc.stock101.user.model.vo.Role;
 import io.micrometer.core.instrument.binder.logging.LogbackMetrics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -51,6 +52,10 @@ public class SecurityConfig {
                         // 3) 공시보고서 업로드; 로그인 필요
                         .requestMatchers(HttpMethod.POST, "/api/disclosure/upload").authenticated()
 
+                        // 4) 관리자 API; ADMIN 권한 필요
+                        .requestMatchers("/api/v1/admin/stock/**").hasAuthority(Role.ADMIN.name())
+                        .requestMatchers("/api/v1/admin/kis/**").hasAuthority(Role.ADMIN.name())
+
                         // 나머지 요청은 일단 모두 허용.
                         .anyRequest().permitAll()
                 )
@@ -2,17 +2,21 @@ package com.monstersinc.stock101.dart.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.monstersinc.stock101.common.util.BinaryCacheCodec;
 import com.monstersinc.stock101.dart.dto.DartDisclosureResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.util.Optional;
 
 /**
  * DART API 캐싱 서비스
+ * Fallback 값은 JSON 대신 열 단위 바이너리로 저장 (DartDisclosureCodec)
  */
 @Slf4j
 @Service
@@ -22,6 +26,12 @@ public class DartApiCacheService {
     private final StringRedisTemplate redisTemplate;
     private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
 
+    /**
+     * Fallback 값 압축 여부
+     */
+    @Value("${dart.cache.compression-enabled:true}")
+    private boolean compressionEnabled;
+
     private static final String FALLBACK_KEY_PREFIX = "dart:fallback:";
 
     /**
@@ -35,8 +45,8 @@ public class DartApiCacheService {
     public void saveFallbackCache(String corpCode, String reportType, DartDisclosureResponse data) {
         try {
             String key = buildFallbackKey(corpCode, reportType);
-            String json = objectMapper.writeValueAsString(data);
-            redisTemplate.opsForValue().set(key, json, Duration.ofDays(7));
+            byte[] value = BinaryCacheCodec.frame(DartDisclosureCodec.encode(data), compressionEnabled);
+            BinaryCacheCodec.set(redisTemplate, key, value, Duration.ofDays(7));
             log.debug("DART Fallback 캐시 저장: corpCode={}, reportType={}", corpCode, reportType);
         } catch (Exception e) {
             log.warn("DART Fallback 캐시 저장 실패: {}", e.getMessage());
@@ -53,11 +63,11 @@ public class DartApiCacheService {
     public Optional<DartDisclosureResponse> getFallbackCache(String corpCode, String reportType) {
         try {
             String key = buildFallbackKey(corpCode, reportType);
-            String cached = redisTemplate.opsForValue().get(key);
+            byte[] cached = BinaryCacheCodec.get(redisTemplate, key);
 
-            if (cached != null) {
+            if (cached != null && cached.length > 0) {
                 log.info("⚠️ DART Fallback 캐시 사용: corpCode={}, reportType={}", corpCode, reportType);
-                return Optional.of(objectMapper.readValue(cached, DartDisclosureResponse.class));
+                return Optional.of(decode(cached));
             }
 
             return Optional.empty();
@@ -68,6 +78,16 @@ public class DartApiCacheService {
         }
     }
 
+    /**
+     * 저장된 값 복원 (예전 JSON 값은 만료될 때까지 그대로 읽음)
+     */
+    private DartDisclosureResponse decode(byte[] cached) throws IOException {
+        if (BinaryCacheCodec.isLegacyJson(cached)) {
+            return objectMapper.readValue(cached, DartDisclosureResponse.class);
+        }
+        return DartDisclosureCodec.decode(BinaryCacheCodec.unframe(cached));
+    }
+
     /**
      * Fallback 캐시 키 생성
      */
@@ -1,6 +1,7 @@
 package com.monstersinc.stock101.dart.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monstersinc.stock101.common.ratelimit.AdaptiveRateController;
 import com.monstersinc.stock101.common.ratelimit.RateLimitException;
 import com.monstersinc.stock101.common.ratelimit.RateLimiter;
 import com.monstersinc.stock101.dart.dto.DartDisclosureRequest;
@@ -30,6 +31,7 @@ public class DartApiService {
 
     private static final String DART_LIST_URL = "https://opendart.fss.or.kr/api/list.json";
     private static final DateTimeFormatter DART_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String THROTTLE_STATUS = "020"; // 요청 제한 초과
 
     @Value("${apikey.dart-api-key:#{null}}")
     private String dartApiKey;
@@ -38,6 +40,7 @@ public class DartApiService {
     private final ObjectMapper objectMapper;
     private final RateLimiter rateLimiter;
     private final DartApiCacheService cacheService;
+    private final AdaptiveRateController adaptiveRateController;
 
     /**
      * [수정] DART API 호출 - Rate Limiter 및 Fallback 캐시 적용
@@ -70,6 +73,15 @@ public class DartApiService {
                 result.getList().forEach(item -> item.setPblntfTy(request.getReportType()));
             }
 
+            // ⭐ 호출 제한 응답이면 적응형 Rate Limiter 속도를 줄이고 Fallback 캐시 시도
+            if (THROTTLE_STATUS.equals(result.getStatus())) {
+                adaptiveRateController.onThrottle("DART_API");
+                log.warn("DART API 호출 제한 응답, Fallback 캐시 시도: {}", result.getMessage());
+                return cacheService.getFallbackCache(request.getCorpCode(), request.getReportType())
+                        .orElseThrow(() -> new RateLimitException("DART_API", 1000));
+            }
+            adaptiveRateController.onSuccess("DART_API");
+
             // ⭐ 성공 시 Fallback 캐시 저장
             if ("000".equals(result.getStatus())) {
                 cacheService.saveFallbackCache(request.getCorpCode(), request.getReportType(), result);
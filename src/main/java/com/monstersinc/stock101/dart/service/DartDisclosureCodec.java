@@ -0,0 +1,84 @@
+package com.monstersinc.stock101.dart.service;
+
+import com.monstersinc.stock101.common.util.BinaryCacheCodec;
+import com.monstersinc.stock101.dart.dto.DartDisclosureResponse;
+import com.monstersinc.stock101.dart.dto.DartDisclosureResponse.DartDisclosure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * DART 공시 목록 응답 바이너리 인코딩
+ * 필드 이름 없이 열 단위로 저장하여 같은 기업코드/기업명이 연속되는 목록이 압축에 유리하도록 함
+ */
+final class DartDisclosureCodec {
+
+    private DartDisclosureCodec() {}
+
+    private static final List<Function<DartDisclosure, String>> GETTERS = List.of(
+            DartDisclosure::getCorpCode,
+            DartDisclosure::getCorpName,
+            DartDisclosure::getReportNm,
+            DartDisclosure::getRceptNo,
+            DartDisclosure::getRceptDt,
+            DartDisclosure::getPblntfTy);
+
+    private static final List<BiConsumer<DartDisclosure, String>> SETTERS = List.of(
+            DartDisclosure::setCorpCode,
+            DartDisclosure::setCorpName,
+            DartDisclosure::setReportNm,
+            DartDisclosure::setRceptNo,
+            DartDisclosure::setRceptDt,
+            DartDisclosure::setPblntfTy);
+
+    static byte[] encode(DartDisclosureResponse response) {
+        List<DartDisclosure> rows = response.getList() != null ? response.getList() : List.of();
+        BinaryCacheCodec.Writer writer = new BinaryCacheCodec.Writer(64 + rows.size() * 64);
+
+        writer.writeString(response.getStatus());
+        writer.writeString(response.getMessage());
+        writer.writeSignedVarLong(response.getTotalCount());
+        writer.writeSignedVarLong(response.getTotalPage());
+        writer.writeSignedVarLong(response.getPageNo());
+        writer.writeSignedVarLong(response.getPageCount());
+
+        writer.writeBoolean(response.getList() != null);
+        writer.writeVarLong(rows.size());
+        for (Function<DartDisclosure, String> getter : GETTERS) {
+            for (DartDisclosure row : rows) {
+                writer.writeString(getter.apply(row));
+            }
+        }
+
+        return writer.toByteArray();
+    }
+
+    static DartDisclosureResponse decode(byte[] body) {
+        BinaryCacheCodec.Reader reader = new BinaryCacheCodec.Reader(body);
+        DartDisclosureResponse response = new DartDisclosureResponse();
+
+        response.setStatus(reader.readString());
+        response.setMessage(reader.readString());
+        response.setTotalCount((int) reader.readSignedVarLong());
+        response.setTotalPage((int) reader.readSignedVarLong());
+        response.setPageNo((int) reader.readSignedVarLong());
+        response.setPageCount((int) reader.readSignedVarLong());
+
+        boolean hasRows = reader.readBoolean();
+        int size = (int) reader.readVarLong();
+        List<DartDisclosure> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(new DartDisclosure());
+        }
+        for (BiConsumer<DartDisclosure, String> setter : SETTERS) {
+            for (DartDisclosure row : rows) {
+                setter.accept(row, reader.readString());
+            }
+        }
+
+        response.setList(hasRows ? rows : null);
+        return response;
+    }
+}
@@ -0,0 +1,41 @@
+package com.monstersinc.stock101.kis.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * KIS 앱키 풀 설정 프로퍼티
+ * 비워 두면 apikey.kis-key / apikey.kis-secret 하나만 사용
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "kis")
+public class KisCredentialProperties {
+
+    /**
+     * 앱키 목록 (KIS는 앱키별로 호출 제한이 걸리므로 앱키 수만큼 처리량이 늘어남)
+     */
+    private List<Credential> credentials = new ArrayList<>();
+
+    @Data
+    public static class Credential {
+        /**
+         * 앱키 이름 (토큰 행과 Rate Limit 키 구분용, 노드 간에 같아야 함)
+         */
+        private String name;
+
+        /**
+         * 앱키
+         */
+        private String appKey;
+
+        /**
+         * 앱 시크릿
+         */
+        private String appSecret;
+    }
+}
@@ -1,5 +1,6 @@
 package com.monstersinc.stock101.kis.config;
 
+import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,6 +10,8 @@ import java.time.Duration;
 
 /**
  * KIS API RestTemplate 설정
+ * JDK HttpClient 사용: 가상 스레드에서 호출하면 응답 대기 중 캐리어 스레드를 반납
+ * (클래스패스의 Reactor Netty가 자동 선택되면 호출마다 이벤트 루프 응답을 블로킹으로 기다림)
  */
 @Configuration
 public class KisRestTemplateConfig {
@@ -16,6 +19,7 @@ public class KisRestTemplateConfig {
     @Bean
     public RestTemplate kisRestTemplate(RestTemplateBuilder builder) {
         return builder
+                .requestFactoryBuilder(ClientHttpRequestFactoryBuilder.jdk())
                 .connectTimeout(Duration.ofSeconds(10))
                 .readTimeout(Duration.ofSeconds(30))
                 .build();
@@ -0,0 +1,99 @@
+package com.monstersinc.stock101.kis.controller;
+
+import com.monstersinc.stock101.kis.dto.QueueStats;
+import com.monstersinc.stock101.kis.queue.DeadLetterEntry;
+import com.monstersinc.stock101.kis.queue.RetryEntry;
+import com.monstersinc.stock101.kis.queue.StockPriceUpdateQueue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 관리자 - 시세 업데이트 Queue 관리 API
+ * Queue 상태 조회, 재시도 대기 목록 조회, Dead Letter 조회/재등록/삭제 기능 제공
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/kis/queue")
+@RequiredArgsConstructor
+public class KisQueueAdminController {
+
+    private static final int MAX_LIST_LIMIT = 500;
+
+    private final StockPriceUpdateQueue queue;
+
+    /**
+     * Queue 깊이, 대기 시간, 재시도/Dead Letter 지표
+     * GET /api/v1/admin/kis/queue/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<QueueStats> getStats() {
+        return ResponseEntity.ok(queue.getStats());
+    }
+
+    /**
+     * 재시도 대기 목록 (재시도 시각이 이른 순)
+     * GET /api/v1/admin/kis/queue/retries?limit=50
+     */
+    @GetMapping("/retries")
+    public ResponseEntity<List<RetryEntry>> getRetries(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(queue.getRetries(clampLimit(limit)));
+    }
+
+    /**
+     * Dead Letter 목록 (최근 순)
+     * GET /api/v1/admin/kis/queue/dlq?limit=50
+     */
+    @GetMapping("/dlq")
+    public ResponseEntity<List<DeadLetterEntry>> getDeadLetters(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(queue.getDeadLetters(clampLimit(limit)));
+    }
+
+    /**
+     * Dead Letter 요청 재등록 (시도 횟수 초기화)
+     * POST /api/v1/admin/kis/queue/dlq/{requestId}/requeue
+     */
+    @PostMapping("/dlq/{requestId}/requeue")
+    public ResponseEntity<Map<String, String>> requeueDeadLetter(@PathVariable String requestId) {
+        log.info("Dead Letter 재등록 요청: requestId={}", requestId);
+        return queue.requeueDeadLetter(requestId)
+                .map(queuedId -> ResponseEntity.ok(Map.of("requestId", queuedId)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Dead Letter 요청 삭제
+     * DELETE /api/v1/admin/kis/queue/dlq/{requestId}
+     */
+    @DeleteMapping("/dlq/{requestId}")
+    public ResponseEntity<Void> removeDeadLetter(@PathVariable String requestId) {
+        log.info("Dead Letter 삭제 요청: requestId={}", requestId);
+        return queue.removeDeadLetter(requestId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Dead Letter 전체 삭제
+     * DELETE /api/v1/admin/kis/queue/dlq
+     */
+    @DeleteMapping("/dlq")
+    public ResponseEntity<Map<String, Long>> purgeDeadLetters() {
+        log.info("Dead Letter 전체 삭제 요청");
+        return ResponseEntity.ok(Map.of("purged", queue.purgeDeadLetters()));
+    }
+
+    private int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIST_LIMIT));
+    }
+}
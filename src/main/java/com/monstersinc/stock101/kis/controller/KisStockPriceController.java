@@ -1,14 +1,18 @@
 package com.monstersinc.stock101.kis.controller;
 
+import com.monstersinc.stock101.kis.dto.RequestProgress;
 import com.monstersinc.stock101.kis.dto.UpdateResponse;
 import com.monstersinc.stock101.kis.queue.RequestStatus;
 import com.monstersinc.stock101.kis.service.KisStockPriceService;
+import com.monstersinc.stock101.kis.service.RequestStatusStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -24,6 +28,7 @@ import java.util.Map;
 public class KisStockPriceController {
 
     private final KisStockPriceService kisStockPriceService;
+    private final RequestStatusStreamService requestStatusStreamService;
 
     /**
      * [수정] 주식 시세 데이터 동기화
@@ -59,24 +64,47 @@ public class KisStockPriceController {
      */
     @Operation(
         summary = "Queue 처리 상태 조회",
-        description = "비동기로 처리 중인 시세 업데이트 요청의 상태를 조회합니다."
+        description = "비동기로 처리 중인 시세 업데이트 요청의 상태와 진행 상황(페이지 수)을 조회합니다."
     )
     @GetMapping("/stock-prices/status/{requestId}")
     public ResponseEntity<Map<String, Object>> getRequestStatus(@PathVariable String requestId) {
         RequestStatus status = kisStockPriceService.getRequestStatus(requestId);
+        RequestProgress progress = kisStockPriceService.getRequestProgress(requestId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("requestId", requestId);
         response.put("status", status.name());
         response.put("description", getStatusDescription(status));
+        response.put("pagesDone", progress.getPagesDone());
+        response.put("pagesTotal", progress.getPagesTotal());
+        response.put("savedCount", progress.getSavedCount());
+        response.put("cursor", progress.getCursor() != null ? progress.getCursor().toString() : null);
 
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Queue 처리 상태 실시간 구독 (SSE)
+     * 상태 조회 API를 반복 호출하지 않고 한 번 연결해 상태/페이지 진행 변경을 전달받습니다.
+     *
+     * @param requestId 요청 ID
+     * @return SSE 연결 ("status" 이벤트, 완료/실패 시 종료)
+     */
+    @Operation(
+        summary = "Queue 처리 상태 실시간 구독",
+        description = "비동기 시세 업데이트 요청의 상태와 진행 상황을 SSE로 전송합니다. " +
+                     "연결 직후 현재 상태를 보내고, 완료 또는 실패하면 연결을 종료합니다."
+    )
+    @GetMapping(value = "/stock-prices/status/{requestId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRequestStatus(@PathVariable String requestId) {
+        return requestStatusStreamService.subscribe(requestId);
+    }
+
     private String getStatusDescription(RequestStatus status) {
         return switch (status) {
             case QUEUED -> "대기 중";
             case PROCESSING -> "처리 중";
+            case RETRY_SCHEDULED -> "실패 후 재시도 대기 중";
             case COMPLETED -> "완료";
             case FAILED -> "실패";
             case NOT_FOUND -> "요청을 찾을 수 없습니다 (만료되었거나 존재하지 않음)";
@@ -0,0 +1,41 @@
+package com.monstersinc.stock101.kis.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 일봉 백필 계획
+ * KIS API 한 번 호출이 가져오는 거래일 구간(페이지)을 최신 구간부터 나열
+ */
+@Getter
+@ToString
+@AllArgsConstructor(staticName = "of")
+public class BackfillPlan {
+
+    /**
+     * 기간 안의 거래일 수
+     */
+    private final int tradingDays;
+
+    /**
+     * 호출별 거래일 구간 (최신순, 각 구간의 시작일/종료일은 실제 거래일)
+     */
+    private final List<DateRange> pages;
+
+    /**
+     * 필요한 API 호출 횟수
+     */
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * 기간 안에 거래일이 없어 호출할 필요가 없는지
+     */
+    public boolean isEmpty() {
+        return pages.isEmpty();
+    }
+}
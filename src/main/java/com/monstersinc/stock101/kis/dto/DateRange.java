@@ -0,0 +1,22 @@
+package com.monstersinc.stock101.kis.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * 날짜 구간 (시작일, 종료일 모두 포함)
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor(staticName = "of")
+public class DateRange {
+
+    private final LocalDate startDate;
+
+    private final LocalDate endDate;
+}
@@ -0,0 +1,76 @@
+package com.monstersinc.stock101.kis.dto;
+
+import com.monstersinc.stock101.stock.model.dto.PriceCoverageDto;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 일봉 누락 검사 결과 DTO
+ */
+@Getter
+@Builder
+public class GapScanReport {
+
+    /**
+     * 검사 시작일
+     */
+    private LocalDate startDate;
+
+    /**
+     * 검사 종료일 (가장 최근 거래일)
+     */
+    private LocalDate endDate;
+
+    /**
+     * 검사 기간의 거래일 수
+     */
+    private int tradingDays;
+
+    /**
+     * 검사한 종목 수
+     */
+    private int scannedStocks;
+
+    /**
+     * 중간 누락 구간이 있는 종목 수
+     */
+    private int stocksWithGaps;
+
+    /**
+     * 중간 누락 구간 수
+     */
+    private int gapCount;
+
+    /**
+     * 중간 누락 거래일 수
+     */
+    private int missingDays;
+
+    /**
+     * 전체 완전성 (저장 거래일 / 있어야 할 거래일)
+     */
+    private double completeness;
+
+    /**
+     * 복구 요청으로 Queue에 넣은 수
+     */
+    private int enqueuedRequests;
+
+    /**
+     * 복구에 필요한 API 호출 횟수
+     */
+    private int plannedApiCalls;
+
+    /**
+     * 최근에 이미 복구를 시도해 건너뛴 구간 수
+     */
+    private int skippedGaps;
+
+    /**
+     * 완전성이 낮은 종목 (낮은 순)
+     */
+    private List<PriceCoverageDto> incompleteStocks;
+}
@@ -0,0 +1,45 @@
+package com.monstersinc.stock101.kis.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * KIS 앱키 하나 (토큰과 Rate Limit 버킷을 앱키별로 따로 씀)
+ * 기본 앱키는 기존 토큰 행(KIS)과 Rate Limit 키(KIS_API)를 그대로 사용
+ */
+@Getter
+@ToString(onlyExplicitlyIncluded = true)
+@AllArgsConstructor(staticName = "of")
+public class KisCredential {
+
+    public static final String DEFAULT_NAME = "default";
+
+    private static final String TOKEN_NAME = "KIS";
+    private static final String RATE_LIMIT_KEY = "KIS_API";
+
+    @ToString.Include
+    private final String name;
+
+    private final String appKey;
+
+    private final String appSecret;
+
+    /**
+     * api_tokens 테이블의 api_name
+     */
+    public String getTokenName() {
+        return isDefault() ? TOKEN_NAME : TOKEN_NAME + ":" + name;
+    }
+
+    /**
+     * Rate Limit 키 (설정은 KIS_API 설정을 공유)
+     */
+    public String getRateLimitKey() {
+        return isDefault() ? RATE_LIMIT_KEY : RATE_LIMIT_KEY + ":" + name;
+    }
+
+    private boolean isDefault() {
+        return DEFAULT_NAME.equals(name);
+    }
+}
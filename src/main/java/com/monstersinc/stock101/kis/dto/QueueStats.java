@@ -0,0 +1,67 @@
+package com.monstersinc.stock101.kis.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 시세 업데이트 Queue 상태 DTO
+ */
+@Getter
+@Builder
+public class QueueStats {
+
+    /**
+     * HIGH Stream 길이 (처리 중인 Pending 요청 포함)
+     */
+    private long highDepth;
+
+    /**
+     * LOW Stream 길이 (처리 중인 Pending 요청 포함)
+     */
+    private long lowDepth;
+
+    /**
+     * 꺼냈지만 아직 ack하지 않은 요청 수
+     */
+    private long pending;
+
+    /**
+     * Stream에서 가장 오래된 요청의 대기 시간 (밀리초, 없으면 0)
+     */
+    private long oldestAgeMs;
+
+    /**
+     * 재시도 대기 중인 요청 수
+     */
+    private long retryScheduled;
+
+    /**
+     * 가장 이른 재시도까지 남은 시간 (밀리초, 없으면 -1)
+     */
+    private long nextRetryInMs;
+
+    /**
+     * Dead Letter 요청 수
+     */
+    private long deadLetters;
+
+    /**
+     * 가장 오래된 Dead Letter의 경과 시간 (밀리초, 없으면 0)
+     */
+    private long oldestDeadLetterAgeMs;
+
+    /**
+     * 누적 재시도 예약 수
+     */
+    private long totalRetries;
+
+    /**
+     * 누적 Dead Letter 이동 수
+     */
+    private long totalDeadLettered;
+
+    /**
+     * 누적 Dead Letter 재등록 수
+     */
+    private long totalRequeued;
+}
@@ -0,0 +1,41 @@
+package com.monstersinc.stock101.kis.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Queue 요청 진행 상황 DTO
+ */
+@Getter
+@Builder
+public class RequestProgress {
+
+    /**
+     * 완료한 페이지(API 호출) 수
+     */
+    private int pagesDone;
+
+    /**
+     * 전체 예상 페이지 수
+     */
+    private int pagesTotal;
+
+    /**
+     * 지금까지 저장한 데이터 수
+     */
+    private int savedCount;
+
+    /**
+     * 마지막으로 가져온 영업일 (다음 페이지는 이 날짜 이전부터 조회)
+     */
+    private LocalDate cursor;
+
+    /**
+     * 빈 진행 상황 (아직 시작하지 않았거나 만료됨)
+     */
+    public static RequestProgress empty() {
+        return RequestProgress.builder().build();
+    }
+}
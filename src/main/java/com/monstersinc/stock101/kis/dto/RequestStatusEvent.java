@@ -0,0 +1,61 @@
+package com.monstersinc.stock101.kis.dto;
+
+import com.monstersinc.stock101.kis.queue.RequestStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Queue 요청 상태/진행 상황 변경 이벤트 DTO
+ * 노드 간 Redis Pub/Sub으로 전파되어 SSE 구독자에게 그대로 전송됨
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestStatusEvent {
+
+    /**
+     * 요청 ID
+     */
+    private String requestId;
+
+    /**
+     * 처리 상태
+     */
+    private RequestStatus status;
+
+    /**
+     * 완료한 페이지(API 호출) 수
+     */
+    private int pagesDone;
+
+    /**
+     * 전체 예상 페이지 수
+     */
+    private int pagesTotal;
+
+    /**
+     * 지금까지 저장한 데이터 수
+     */
+    private int savedCount;
+
+    /**
+     * 마지막으로 가져온 영업일
+     */
+    private LocalDate cursor;
+
+    public static RequestStatusEvent of(String requestId, RequestStatus status, RequestProgress progress) {
+        return RequestStatusEvent.builder()
+                .requestId(requestId)
+                .status(status)
+                .pagesDone(progress.getPagesDone())
+                .pagesTotal(progress.getPagesTotal())
+                .savedCount(progress.getSavedCount())
+                .cursor(progress.getCursor())
+                .build();
+    }
+}
@@ -3,6 +3,8 @@ package com.monstersinc.stock101.kis.event;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
+import java.time.LocalDate;
+
 /**
  * 주식 시세 업데이트 완료 이벤트
  */
@@ -11,16 +13,20 @@ public class StockPriceUpdateCompletedEvent extends ApplicationEvent {
 
     private final String requestId;
     private final String stockCode;
+    private final LocalDate endDate;  // 요청 종료일 (최근 거래일까지 받은 요청인지 확인용)
     private final int savedCount;
 
-    public StockPriceUpdateCompletedEvent(Object source, String requestId, String stockCode, int savedCount) {
+    public StockPriceUpdateCompletedEvent(Object source, String requestId, String stockCode,
+                                          LocalDate endDate, int savedCount) {
         super(source);
         this.requestId = requestId;
         this.stockCode = stockCode;
+        this.endDate = endDate;
         this.savedCount = savedCount;
     }
 
-    public static StockPriceUpdateCompletedEvent of(String requestId, String stockCode, int savedCount) {
-        return new StockPriceUpdateCompletedEvent("StockPriceUpdateWorker", requestId, stockCode, savedCount);
+    public static StockPriceUpdateCompletedEvent of(String requestId, String stockCode,
+                                                    LocalDate endDate, int savedCount) {
+        return new StockPriceUpdateCompletedEvent("StockPriceUpdateWorker", requestId, stockCode, endDate, savedCount);
     }
 }
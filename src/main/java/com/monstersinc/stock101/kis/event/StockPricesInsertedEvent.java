@@ -0,0 +1,28 @@
+package com.monstersinc.stock101.kis.event;
+
+import com.monstersinc.stock101.stock.model.vo.StockPrice;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+/**
+ * 일봉 저장(UPSERT) 이벤트
+ * 저장한 일봉을 메모리 시계열 캐시에 반영하는 데 사용
+ */
+@Getter
+public class StockPricesInsertedEvent extends ApplicationEvent {
+
+    private final Long stockId;
+    private final List<StockPrice> prices;
+
+    public StockPricesInsertedEvent(Object source, Long stockId, List<StockPrice> prices) {
+        super(source);
+        this.stockId = stockId;
+        this.prices = prices;
+    }
+
+    public static StockPricesInsertedEvent of(Object source, Long stockId, List<StockPrice> prices) {
+        return new StockPricesInsertedEvent(source, stockId, List.copyOf(prices));
+    }
+}
@@ -0,0 +1,38 @@
+package com.monstersinc.stock101.kis.queue;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 재시도 횟수를 모두 쓰고 Dead Letter로 옮긴 요청
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterEntry {
+
+    /**
+     * 원래 요청
+     */
+    private StockPriceUpdateRequest request;
+
+    /**
+     * 마지막 실패 사유
+     */
+    private String errorMessage;
+
+    /**
+     * 실패 횟수
+     */
+    private int attempts;
+
+    /**
+     * Dead Letter로 옮긴 시각
+     */
+    private LocalDateTime failedAt;
+}
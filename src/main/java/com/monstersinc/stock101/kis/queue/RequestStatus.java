@@ -4,9 +4,17 @@ package com.monstersinc.stock101.kis.queue;
  * 요청 처리 상태
  */
 public enum RequestStatus {
-    QUEUED,      // Queue 대기 중
-    PROCESSING,  // 처리 중
-    COMPLETED,   // 완료
-    FAILED,      // 실패
-    NOT_FOUND    // 없음 (만료되었거나 존재하지 않음)
+    QUEUED,          // Queue 대기 중
+    PROCESSING,      // 처리 중
+    RETRY_SCHEDULED, // 실패 후 재시도 대기 중
+    COMPLETED,       // 완료
+    FAILED,          // 실패
+    NOT_FOUND;       // 없음 (만료되었거나 존재하지 않음)
+
+    /**
+     * 더 이상 바뀌지 않는 최종 상태인지 여부
+     */
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED || this == NOT_FOUND;
+    }
 }
@@ -0,0 +1,24 @@
+package com.monstersinc.stock101.kis.queue;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * 재시도 대기 중인 요청
+ */
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class RetryEntry {
+
+    /**
+     * 재시도할 요청 (attempt는 지금까지 실패한 횟수)
+     */
+    private final StockPriceUpdateRequest request;
+
+    /**
+     * 다시 Queue에 들어갈 시각
+     */
+    private final Instant dueAt;
+}
@@ -3,21 +3,61 @@ package com.monstersinc.stock101.kis.queue;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.monstersinc.stock101.kis.dto.QueueStats;
+import com.monstersinc.stock101.kis.dto.RequestProgress;
+import com.monstersinc.stock101.kis.dto.RequestStatusEvent;
 import com.monstersinc.stock101.kis.queue.StockPriceUpdateRequest.RequestPriority;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisStreamCommands.XClaimOptions;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.time.ZoneOffset;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
- * Redis 기반 주식 시세 업데이트 Queue 관리
- * Sorted Set을 사용한 우선순위 큐
+ * Redis Streams 기반 주식 시세 업데이트 Queue 관리
+ * 우선순위별 Stream + Consumer Group 사용
+ * - 꺼낸 요청은 ack 전까지 Pending 상태로 남아 노드 장애 시에도 유실되지 않음
+ * - visibility timeout 동안 진행이 없는 Pending 요청은 다른 노드가 회수(XCLAIM)하여 재처리
+ * - 같은 종목의 대기 중인 요청과 기간이 겹치거나 맞닿으면 새로 추가하지 않고 기존 요청의 기간을 넓힘
+ * - 처리에 실패한 요청은 지수 백오프(+지터) 시각을 점수로 kis:retry Sorted Set에 넣었다가 때가 되면 Stream으로 되돌림
+ * - 최대 시도 횟수를 넘긴 요청은 Dead Letter(kis:dlq)로 옮겨 관리자가 확인 후 재등록/삭제
+ * - 상태/진행 상황이 바뀔 때마다 {@link #STATUS_CHANNEL}로 발행하여 SSE 구독자에게 전달
  */
 @Slf4j
 @Service
@@ -27,26 +67,205 @@ public class StockPriceUpdateQueue {
     private final StringRedisTemplate redisTemplate;
     private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
 
-    private static final String QUEUE_KEY_PREFIX = "kis:queue:";
+    /**
+     * Pending 요청을 회수하기까지의 무응답 시간 (밀리초)
+     */
+    @Value("${kis.queue.visibility-timeout-ms:600000}")
+    private long visibilityTimeoutMs;
+
+    /**
+     * 최대 전달 횟수 (초과 시 Dead Letter)
+     */
+    @Value("${kis.queue.max-deliveries:3}")
+    private int maxDeliveries;
+
+    /**
+     * 처리 실패 시 최대 시도 횟수 (초과 시 Dead Letter)
+     */
+    @Value("${kis.queue.retry.max-attempts:5}")
+    private int maxAttempts;
+
+    /**
+     * 첫 재시도 대기 시간 (밀리초, 시도마다 2배)
+     */
+    @Value("${kis.queue.retry.base-delay-ms:5000}")
+    private long retryBaseDelayMs;
+
+    /**
+     * 재시도 대기 시간 상한 (밀리초)
+     */
+    @Value("${kis.queue.retry.max-delay-ms:600000}")
+    private long retryMaxDelayMs;
+
+    private static final String STREAM_KEY_PREFIX = "kis:stream:";
+    private static final String LEGACY_QUEUE_KEY_PREFIX = "kis:queue:";
     private static final String STATUS_KEY_PREFIX = "kis:status:";
 
+    /**
+     * 상태/진행 상황 변경 이벤트 채널 (메시지: {@link RequestStatusEvent} JSON)
+     */
+    public static final String STATUS_CHANNEL = "kis:status:events";
+    private static final String PENDING_KEY_PREFIX = "kis:pending:";
+    private static final String JOB_KEY_PREFIX = "kis:job:";
+    private static final String RETRY_KEY = "kis:retry";
+    private static final String DLQ_KEY = "kis:dlq";
+    private static final String DLQ_INDEX_KEY = "kis:dlq:index";
+    private static final String METRICS_KEY = "kis:queue:metrics";
+    private static final String METRIC_RETRIED = "retried";
+    private static final String METRIC_DEAD_LETTERED = "deadLettered";
+    private static final String METRIC_REQUEUED = "requeued";
+    private static final int PROMOTE_BATCH_SIZE = 100;
+    private static final String CONSUMER_GROUP = "kis-workers";
+    private static final String PAYLOAD_FIELD = "payload";
+    private static final String CURSOR_FIELD = "cursor";
+    private static final String PAGES_DONE_FIELD = "pagesDone";
+    private static final String PAGES_TOTAL_FIELD = "pagesTotal";
+    private static final String SAVED_COUNT_FIELD = "savedCount";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final Duration STATUS_TTL = Duration.ofHours(24);
+
+    /**
+     * 대기 중인 요청과 병합 또는 신규 등록 (원자적 처리)
+     * kis:pending:{stockCode} 해시에 requestId → "시작일:종료일"(epoch day) 형태로 보관
+     * 기간이 겹치거나 맞닿은 대기 요청이 있으면 그 요청의 기간을 합집합으로 넓히고 해당 requestId 반환
+     */
+    private static final DefaultRedisScript<String> MERGE_OR_REGISTER_SCRIPT = new DefaultRedisScript<>("""
+        local fields = redis.call('HGETALL', KEYS[1])
+        local s = tonumber(ARGV[2])
+        local e = tonumber(ARGV[3])
+
+        for i = 1, #fields, 2 do
+            local range = fields[i + 1]
+            local sep = string.find(range, ':')
+            local cs = tonumber(string.sub(range, 1, sep - 1))
+            local ce = tonumber(string.sub(range, sep + 1))
+
+            -- 겹치거나 맞닿은 기간이면 병합
+            if s <= ce + 1 and e >= cs - 1 then
+                redis.call('HSET', KEYS[1], fields[i], math.min(s, cs) .. ':' .. math.max(e, ce))
+                redis.call('EXPIRE', KEYS[1], 86400)
+                return fields[i]
+            end
+        end
+
+        redis.call('HSET', KEYS[1], ARGV[1], s .. ':' .. e)
+        redis.call('EXPIRE', KEYS[1], 86400)
+        return ARGV[1]
+        """, String.class);
+
+    /**
+     * 처리 시작 시 대기 목록에서 제거하고 병합된 최종 기간을 작업 해시에 고정
+     * 재전달(회수)된 요청은 대기 목록에 없으므로 작업 해시에 고정된 기간을 그대로 사용
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> CLAIM_PENDING_SCRIPT = new DefaultRedisScript<>("""
+        local range = redis.call('HGET', KEYS[1], ARGV[1])
+        if range then
+            redis.call('HDEL', KEYS[1], ARGV[1])
+            local sep = string.find(range, ':')
+            redis.call('HSET', KEYS[2], 'start', string.sub(range, 1, sep - 1), 'end', string.sub(range, sep + 1))
+            redis.call('EXPIRE', KEYS[2], 86400)
+        end
+        return redis.call('HMGET', KEYS[2], 'start', 'end')
+        """, List.class);
+
+    /**
+     * 재시도 시각이 된 요청을 Stream으로 되돌림 (원자적 처리)
+     * 멤버 형식: "우선순위|요청 JSON", 점수: 재시도 시각(epoch ms)
+     * QUEUED 상태 저장/발행을 XADD보다 먼저 해서 Worker가 바꾼 PROCESSING을 덮어쓰지 않도록 함
+     * KEYS[1] 재시도 Sorted Set, KEYS[2] HIGH Stream, KEYS[3] LOW Stream
+     * ARGV[1] 현재 시각, ARGV[2] 최대 건수, ARGV[3] 상태 키 접두사, ARGV[4] 상태 TTL(초), ARGV[5] 진행 키 접두사, ARGV[6] 상태 채널
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> PROMOTE_RETRY_SCRIPT = new DefaultRedisScript<>("""
+        redis.replicate_commands()
+        local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))
+        for _, member in ipairs(due) do
+            redis.call('ZREM', KEYS[1], member)
+            local sep = string.find(member, '|', 1, true)
+            local stream = KEYS[3]
+            if string.sub(member, 1, sep - 1) == 'HIGH' then
+                stream = KEYS[2]
+            end
+            local payload = string.sub(member, sep + 1)
+            local id = cjson.decode(payload)['requestId']
+            if type(id) == 'string' then
+                redis.call('SET', ARGV[3] .. id, 'QUEUED', 'EX', tonumber(ARGV[4]))
+                local job = redis.call('HMGET', ARGV[5] .. id, 'cursor', 'pagesDone', 'pagesTotal', 'savedCount')
+                local event = {requestId = id, status = 'QUEUED',
+                    pagesDone = tonumber(job[2]) or 0, pagesTotal = tonumber(job[3]) or 0, savedCount = tonumber(job[4]) or 0}
+                if job[1] then
+                    event['cursor'] = string.sub(job[1], 1, 4) .. '-' .. string.sub(job[1], 5, 6) .. '-' .. string.sub(job[1], 7, 8)
+                end
+                redis.call('PUBLISH', ARGV[6], cjson.encode(event))
+            end
+            redis.call('XADD', stream, '*', 'payload', payload)
+        end
+        return due
+        """, List.class);
+
+    /**
+     * Consumer 이름 (pid@host, 노드/프로세스마다 고유)
+     */
+    private final String consumerName = ManagementFactory.getRuntimeMXBean().getName();
+
+    /**
+     * 한 번에 여러 건을 읽었거나 회수한 요청을 보관하는 로컬 버퍼
+     * 버퍼의 요청도 ack 전까지 Stream의 Pending 목록에 남아 있음
+     */
+    private final Deque<StockPriceUpdateRequest> localBuffer = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Consumer Group 생성 및 기존 Sorted Set Queue 이관
+     */
+    @PostConstruct
+    public void init() {
+        for (RequestPriority priority : RequestPriority.values()) {
+            try {
+                createGroupIfAbsent(streamKey(priority));
+                migrateLegacyQueue(priority);
+            } catch (Exception e) {
+                log.warn("Queue 초기화 실패 (최초 사용 시 재시도): priority={}, error={}", priority, e.getMessage());
+            }
+        }
+    }
+
     /**
      * Queue에 요청 추가
+     * 같은 종목의 대기 중인 요청과 기간이 겹치면 기존 요청에 병합하고 기존 요청 ID 반환
      *
      * @param request 업데이트 요청
-     * @return 요청 ID
+     * @return 요청 ID (병합된 경우 기존 요청 ID)
      */
     public String enqueue(StockPriceUpdateRequest request) {
-        try {
-            String queueKey = QUEUE_KEY_PREFIX + request.getPriority().name();
-            String requestJson = objectMapper.writeValueAsString(request);
+        String pendingKey = PENDING_KEY_PREFIX + request.getStockCode();
+        String requestId = redisTemplate.execute(
+                MERGE_OR_REGISTER_SCRIPT,
+                List.of(pendingKey),
+                request.getRequestId(),
+                String.valueOf(request.getStartDate().toEpochDay()),
+                String.valueOf(request.getEndDate().toEpochDay())
+        );
+
+        if (requestId != null && !requestId.equals(request.getRequestId())) {
+            log.info("Queue 병합: stockCode={}, {} ~ {} → 기존 requestId={}",
+                    request.getStockCode(), request.getStartDate(), request.getEndDate(), requestId);
+            return requestId;
+        }
 
-            // Redis Sorted Set 사용 (score: 생성 시각의 epoch second)
-            double score = request.getCreatedAt().toEpochSecond(ZoneOffset.UTC);
-            redisTemplate.opsForZSet().add(queueKey, requestJson, score);
+        String requestJson;
+        try {
+            requestJson = objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            redisTemplate.opsForHash().delete(pendingKey, request.getRequestId());
+            log.error("Queue 추가 실패 (JSON 직렬화 오류): {}", e.getMessage());
+            throw new RuntimeException("Queue 추가 실패", e);
+        }
 
-            // 상태 저장
+        try {
+            // 상태 저장은 XADD보다 먼저 (Worker가 바로 가져가 PROCESSING으로 바꾼 뒤 QUEUED로 덮어쓰지 않도록)
             setStatus(request.getRequestId(), RequestStatus.QUEUED);
+            redisTemplate.opsForStream().add(streamKey(request.getPriority()), Map.of(PAYLOAD_FIELD, requestJson));
 
             log.info("Queue 추가: requestId={}, stockCode={}, priority={}, estimatedCalls={}",
                     request.getRequestId(), request.getStockCode(),
@@ -54,59 +273,550 @@ public class StockPriceUpdateQueue {
 
             return request.getRequestId();
 
-        } catch (JsonProcessingException e) {
-            log.error("Queue 추가 실패 (JSON 직렬화 오류): {}", e.getMessage());
-            throw new RuntimeException("Queue 추가 실패", e);
+        } catch (RuntimeException e) {
+            redisTemplate.opsForHash().delete(pendingKey, request.getRequestId());
+            try {
+                setStatus(request.getRequestId(), RequestStatus.FAILED);
+            } catch (RuntimeException statusError) {
+                log.debug("Queue 추가 실패 상태 저장 실패: requestId={}", request.getRequestId());
+            }
+            throw e;
         }
     }
 
     /**
      * Queue에서 요청 가져오기 (우선순위 HIGH 먼저)
+     * 두 Stream이 모두 비어 있으면 blockTimeout 동안 새 요청을 기다림 (XREADGROUP BLOCK)
+     * Redis 오류는 호출자에게 전파
      *
+     * @param blockTimeout 최대 대기 시간
      * @return 처리할 요청 (없으면 empty)
      */
-    public Optional<StockPriceUpdateRequest> dequeue() {
-        // HIGH 우선순위 먼저 확인
-        Optional<StockPriceUpdateRequest> request = dequeueFromPriority(RequestPriority.HIGH);
-        if (request.isPresent()) {
-            return request;
+    public Optional<StockPriceUpdateRequest> dequeue(Duration blockTimeout) {
+        StockPriceUpdateRequest buffered = localBuffer.pollFirst();
+        if (buffered != null) {
+            return Optional.of(buffered);
+        }
+
+        // HIGH 우선순위 먼저 확인 (논블로킹)
+        List<StockPriceUpdateRequest> requests = read(StreamReadOptions.empty().count(1), RequestPriority.HIGH);
+
+        // HIGH가 없으면 HIGH/LOW 모두 블로킹 대기
+        if (requests.isEmpty()) {
+            requests = read(StreamReadOptions.empty().count(1).block(blockTimeout),
+                    RequestPriority.HIGH, RequestPriority.LOW);
+        }
+
+        if (requests.isEmpty()) {
+            return Optional.empty();
         }
 
-        // HIGH가 없으면 LOW
-        return dequeueFromPriority(RequestPriority.LOW);
+        // 두 Stream에서 동시에 읽힌 경우 HIGH를 먼저 반환하고 나머지는 버퍼에 보관
+        requests.sort(Comparator.comparingInt(r -> r.getPriority().getValue()));
+        for (int i = 1; i < requests.size(); i++) {
+            localBuffer.addLast(requests.get(i));
+        }
+
+        StockPriceUpdateRequest request = requests.get(0);
+        log.debug("Queue에서 꺼냄: requestId={}, priority={}", request.getRequestId(), request.getPriority());
+        return Optional.of(request);
     }
 
     /**
-     * 특정 우선순위에서 요청 꺼내기
+     * 처리 완료된 요청 ack 및 Stream에서 삭제
      */
-    private Optional<StockPriceUpdateRequest> dequeueFromPriority(RequestPriority priority) {
+    public void acknowledge(StockPriceUpdateRequest request) {
+        if (request.getRecordId() == null) {
+            return;
+        }
         try {
-            String queueKey = QUEUE_KEY_PREFIX + priority.name();
+            String streamKey = streamKey(request.getPriority());
+            RecordId recordId = RecordId.of(request.getRecordId());
+            redisTemplate.opsForStream().acknowledge(streamKey, CONSUMER_GROUP, recordId);
+            redisTemplate.opsForStream().delete(streamKey, recordId);
+        } catch (Exception e) {
+            log.warn("Queue ack 실패: requestId={}, error={}", request.getRequestId(), e.getMessage());
+        }
+    }
 
-            // ZPOPMIN: 가장 오래된(가장 작은 score) 항목 꺼내기
-            Set<ZSetOperations.TypedTuple<String>> result =
-                    redisTemplate.opsForZSet().popMin(queueKey, 1);
+    /**
+     * 처리 중인 요청의 visibility timeout 연장
+     * 자기 자신에게 XCLAIM JUSTID하여 Pending 유휴 시간만 초기화
+     * (JUSTID 없이 XCLAIM하면 전달 횟수가 늘어나 페이지가 많은 요청이 첫 회수 때 바로 Dead Letter로 감)
+     */
+    public void extendVisibility(StockPriceUpdateRequest request) {
+        if (request.getRecordId() == null) {
+            return;
+        }
+        try {
+            byte[] streamKey = streamKey(request.getPriority()).getBytes(StandardCharsets.UTF_8);
+            XClaimOptions options = XClaimOptions.minIdle(Duration.ZERO).ids(RecordId.of(request.getRecordId()));
+            redisTemplate.execute((RedisCallback<List<RecordId>>) connection -> connection.streamCommands()
+                    .xClaimJustId(streamKey, CONSUMER_GROUP, consumerName, options));
+        } catch (Exception e) {
+            log.warn("visibility timeout 연장 실패: requestId={}, error={}", request.getRequestId(), e.getMessage());
+        }
+    }
 
-            if (result == null || result.isEmpty()) {
-                return Optional.empty();
+    /**
+     * visibility timeout이 지난 Pending 요청 회수
+     * 장애가 난 노드가 꺼내 간 요청을 이 노드의 로컬 버퍼로 가져옴
+     *
+     * @param maxCount 최대 회수 건수
+     * @return 회수한 건수
+     */
+    public int reclaimStalled(int maxCount) {
+        int reclaimed = 0;
+        for (RequestPriority priority : RequestPriority.values()) {
+            if (reclaimed >= maxCount) {
+                break;
             }
+            try {
+                reclaimed += reclaimStalled(priority, maxCount - reclaimed);
+            } catch (Exception e) {
+                log.warn("Pending 요청 회수 실패: priority={}, error={}", priority, e.getMessage());
+            }
+        }
+        return reclaimed;
+    }
 
-            String requestJson = result.iterator().next().getValue();
-            if (requestJson == null) {
-                return Optional.empty();
+    private int reclaimStalled(RequestPriority priority, int maxCount) {
+        String streamKey = streamKey(priority);
+        PendingMessages pending = redisTemplate.opsForStream()
+                .pending(streamKey, CONSUMER_GROUP, Range.unbounded(), 100);
+        if (pending == null) {
+            return 0;
+        }
+
+        int reclaimed = 0;
+        for (PendingMessage message : pending) {
+            if (reclaimed >= maxCount) {
+                break;
+            }
+            if (message.getElapsedTimeSinceLastDelivery().toMillis() < visibilityTimeoutMs) {
+                continue;
+            }
+
+            List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream().claim(
+                    streamKey, CONSUMER_GROUP, consumerName,
+                    Duration.ofMillis(visibilityTimeoutMs), message.getId());
+            if (claimed == null) {
+                continue;
+            }
+
+            for (MapRecord<String, Object, Object> record : claimed) {
+                Optional<StockPriceUpdateRequest> request = toRequest(record);
+                if (request.isEmpty()) {
+                    continue;
+                }
+
+                if (message.getTotalDeliveryCount() >= maxDeliveries) {
+                    log.error("최대 전달 횟수 초과로 Dead Letter 처리: requestId={}, deliveries={}",
+                            request.get().getRequestId(), message.getTotalDeliveryCount());
+                    deadLetter(request.get(), "최대 전달 횟수 초과 (deliveries=" + message.getTotalDeliveryCount() + ")");
+                    acknowledge(request.get());
+                    continue;
+                }
+
+                log.info("Pending 요청 회수: requestId={}, previousConsumer={}, idle={}ms",
+                        request.get().getRequestId(), message.getConsumerName(),
+                        message.getElapsedTimeSinceLastDelivery().toMillis());
+                setStatus(request.get().getRequestId(), RequestStatus.QUEUED);
+                localBuffer.addLast(request.get());
+                reclaimed++;
             }
+        }
+        return reclaimed;
+    }
 
-            StockPriceUpdateRequest request = objectMapper.readValue(requestJson, StockPriceUpdateRequest.class);
-            log.debug("Queue에서 꺼냄: requestId={}, priority={}", request.getRequestId(), priority);
+    /**
+     * 처리 실패한 요청을 재시도 예약하거나, 최대 시도 횟수를 넘겼으면 Dead Letter로 이동
+     * 재시도 대기 시간: min(maxDelay, baseDelay * 2^(시도-1))의 절반 + 나머지 절반 안의 무작위 지터
+     * (같은 원인으로 동시에 실패한 요청들이 같은 시각에 몰려 다시 실패하지 않도록 분산)
+     * 체크포인트는 그대로 두므로 재시도는 실패한 페이지부터 이어서 조회
+     *
+     * @return 재시도를 예약했으면 true, Dead Letter로 옮겼으면 false
+     */
+    public boolean retryOrDeadLetter(StockPriceUpdateRequest request, String errorMessage) {
+        int attempt = request.getAttempt() + 1;
+        StockPriceUpdateRequest failed = request.toBuilder().attempt(attempt).recordId(null).build();
 
-            return Optional.of(request);
+        if (attempt >= maxAttempts) {
+            deadLetter(failed, errorMessage);
+            acknowledge(request);
+            return false;
+        }
 
+        long delayMs = backoffDelayMs(attempt);
+        try {
+            String member = failed.getPriority().name() + "|" + objectMapper.writeValueAsString(failed);
+            redisTemplate.opsForZSet().add(RETRY_KEY, member, System.currentTimeMillis() + delayMs);
+        } catch (JsonProcessingException e) {
+            log.error("재시도 예약 실패 (JSON 직렬화 오류), Dead Letter 처리: requestId={}", request.getRequestId());
+            deadLetter(failed, errorMessage);
+            acknowledge(request);
+            return false;
+        }
+
+        // 재시도 예약 후 ack (중간에 장애가 나도 요청이 사라지지 않도록 순서 유지)
+        acknowledge(request);
+        redisTemplate.expire(JOB_KEY_PREFIX + request.getRequestId(), Duration.ofHours(24));
+        redisTemplate.opsForHash().increment(METRICS_KEY, METRIC_RETRIED, 1);
+        setStatus(request.getRequestId(), RequestStatus.RETRY_SCHEDULED);
+
+        log.warn("재시도 예약: requestId={}, stockCode={}, attempt={}/{}, delay={}ms, error={}",
+                request.getRequestId(), request.getStockCode(), attempt, maxAttempts, delayMs, errorMessage);
+        return true;
+    }
+
+    /**
+     * 재시도 시각이 된 요청을 Stream으로 되돌림
+     *
+     * @return 되돌린 건수
+     */
+    public int promoteDueRetries() {
+        List<?> promoted = redisTemplate.execute(
+                PROMOTE_RETRY_SCRIPT,
+                List.of(RETRY_KEY, streamKey(RequestPriority.HIGH), streamKey(RequestPriority.LOW)),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(PROMOTE_BATCH_SIZE),
+                STATUS_KEY_PREFIX,
+                String.valueOf(STATUS_TTL.toSeconds()),
+                JOB_KEY_PREFIX,
+                STATUS_CHANNEL
+        );
+        if (promoted == null || promoted.isEmpty()) {
+            return 0;
+        }
+
+        for (Object member : promoted) {
+            parseRetryMember(String.valueOf(member)).ifPresent(request -> {
+                // QUEUED 상태는 스크립트가 XADD 전에 저장/발행함
+                log.info("재시도 Queue 재진입: requestId={}, stockCode={}, attempt={}",
+                        request.getRequestId(), request.getStockCode(), request.getAttempt());
+            });
+        }
+        return promoted.size();
+    }
+
+    /**
+     * 재시도 대기 목록 (재시도 시각이 이른 순)
+     */
+    public List<RetryEntry> getRetries(int limit) {
+        Set<ZSetOperations.TypedTuple<String>> tuples =
+                redisTemplate.opsForZSet().rangeWithScores(RETRY_KEY, 0, limit - 1);
+        List<RetryEntry> entries = new ArrayList<>();
+        if (tuples == null) {
+            return entries;
+        }
+        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+            if (tuple.getValue() == null || tuple.getScore() == null) {
+                continue;
+            }
+            parseRetryMember(tuple.getValue()).ifPresent(request ->
+                    entries.add(RetryEntry.of(request, Instant.ofEpochMilli(tuple.getScore().longValue()))));
+        }
+        return entries;
+    }
+
+    /**
+     * Dead Letter 목록 (최근 순)
+     */
+    public List<DeadLetterEntry> getDeadLetters(int limit) {
+        Set<String> requestIds = redisTemplate.opsForZSet().reverseRange(DLQ_INDEX_KEY, 0, limit - 1);
+        List<DeadLetterEntry> entries = new ArrayList<>();
+        if (requestIds == null || requestIds.isEmpty()) {
+            return entries;
+        }
+
+        List<Object> values = redisTemplate.opsForHash().multiGet(DLQ_KEY, new ArrayList<>(requestIds));
+        for (Object value : values) {
+            if (value == null) {
+                continue;
+            }
+            try {
+                entries.add(objectMapper.readValue((String) value, DeadLetterEntry.class));
+            } catch (JsonProcessingException e) {
+                log.warn("Dead Letter 역직렬화 실패: {}", e.getMessage());
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Dead Letter 요청을 시도 횟수를 초기화해 다시 Queue에 넣음
+     *
+     * @return 재등록된 요청 ID (대기 중인 요청에 병합되면 그 요청 ID), Dead Letter에 없으면 empty
+     */
+    public Optional<String> requeueDeadLetter(String requestId) {
+        Object value = redisTemplate.opsForHash().get(DLQ_KEY, requestId);
+        if (value == null) {
+            return Optional.empty();
+        }
+
+        DeadLetterEntry entry;
+        try {
+            entry = objectMapper.readValue((String) value, DeadLetterEntry.class);
+        } catch (JsonProcessingException e) {
+            log.error("Dead Letter 역직렬화 실패, 재등록 불가: requestId={}", requestId);
+            return Optional.empty();
+        }
+
+        String queuedId = enqueue(entry.getRequest().toBuilder().attempt(0).recordId(null).build());
+        removeDeadLetter(requestId);
+        redisTemplate.opsForHash().increment(METRICS_KEY, METRIC_REQUEUED, 1);
+        log.info("Dead Letter 재등록: requestId={} → {}", requestId, queuedId);
+        return Optional.of(queuedId);
+    }
+
+    /**
+     * Dead Letter 요청 삭제
+     *
+     * @return 삭제했으면 true
+     */
+    public boolean removeDeadLetter(String requestId) {
+        redisTemplate.opsForZSet().remove(DLQ_INDEX_KEY, requestId);
+        Long removed = redisTemplate.opsForHash().delete(DLQ_KEY, requestId);
+        return removed != null && removed > 0;
+    }
+
+    /**
+     * Dead Letter 전체 삭제
+     *
+     * @return 삭제한 건수
+     */
+    public long purgeDeadLetters() {
+        Long size = redisTemplate.opsForHash().size(DLQ_KEY);
+        redisTemplate.delete(List.of(DLQ_KEY, DLQ_INDEX_KEY));
+        log.info("Dead Letter 전체 삭제: {}건", size);
+        return size != null ? size : 0;
+    }
+
+    /**
+     * Queue 상태 (깊이, 대기 시간, 재시도/Dead Letter 지표)
+     */
+    public QueueStats getStats() {
+        long now = System.currentTimeMillis();
+
+        long pending = 0;
+        long oldestTimestamp = Long.MAX_VALUE;
+        for (RequestPriority priority : RequestPriority.values()) {
+            String streamKey = streamKey(priority);
+            try {
+                PendingMessagesSummary summary = redisTemplate.opsForStream().pending(streamKey, CONSUMER_GROUP);
+                if (summary != null) {
+                    pending += summary.getTotalPendingMessages();
+                }
+                List<MapRecord<String, Object, Object>> oldest =
+                        redisTemplate.opsForStream().range(streamKey, Range.unbounded(), Limit.limit().count(1));
+                if (oldest != null && !oldest.isEmpty()) {
+                    oldestTimestamp = Math.min(oldestTimestamp, oldest.get(0).getId().getTimestamp());
+                }
+            } catch (Exception e) {
+                log.debug("Stream 상태 조회 실패: stream={}, error={}", streamKey, e.getMessage());
+            }
+        }
+
+        Set<ZSetOperations.TypedTuple<String>> nextRetry = redisTemplate.opsForZSet().rangeWithScores(RETRY_KEY, 0, 0);
+        Set<ZSetOperations.TypedTuple<String>> oldestDeadLetter = redisTemplate.opsForZSet().rangeWithScores(DLQ_INDEX_KEY, 0, 0);
+        Long retryScheduled = redisTemplate.opsForZSet().zCard(RETRY_KEY);
+        Long deadLetters = redisTemplate.opsForHash().size(DLQ_KEY);
+        List<Object> metrics = redisTemplate.opsForHash().multiGet(METRICS_KEY,
+                List.of(METRIC_RETRIED, METRIC_DEAD_LETTERED, METRIC_REQUEUED));
+
+        return QueueStats.builder()
+                .highDepth(getQueueSize(RequestPriority.HIGH))
+                .lowDepth(getQueueSize(RequestPriority.LOW))
+                .pending(pending)
+                .oldestAgeMs(oldestTimestamp == Long.MAX_VALUE ? 0 : Math.max(0, now - oldestTimestamp))
+                .retryScheduled(retryScheduled != null ? retryScheduled : 0)
+                .nextRetryInMs(firstScore(nextRetry).map(score -> Math.max(0, score - now)).orElse(-1L))
+                .deadLetters(deadLetters != null ? deadLetters : 0)
+                .oldestDeadLetterAgeMs(firstScore(oldestDeadLetter).map(score -> Math.max(0, now - score)).orElse(0L))
+                .totalRetries(parseIntOrZero(metrics.get(0)))
+                .totalDeadLettered(parseIntOrZero(metrics.get(1)))
+                .totalRequeued(parseIntOrZero(metrics.get(2)))
+                .build();
+    }
+
+    /**
+     * 요청을 Dead Letter로 이동하고 실패 상태로 변경
+     */
+    private void deadLetter(StockPriceUpdateRequest request, String errorMessage) {
+        DeadLetterEntry entry = DeadLetterEntry.builder()
+                .request(request.toBuilder().recordId(null).build())
+                .errorMessage(errorMessage)
+                .attempts(request.getAttempt())
+                .failedAt(LocalDateTime.now())
+                .build();
+
+        try {
+            redisTemplate.opsForHash().put(DLQ_KEY, request.getRequestId(), objectMapper.writeValueAsString(entry));
+            redisTemplate.opsForZSet().add(DLQ_INDEX_KEY, request.getRequestId(), System.currentTimeMillis());
+            redisTemplate.opsForHash().increment(METRICS_KEY, METRIC_DEAD_LETTERED, 1);
+        } catch (JsonProcessingException e) {
+            log.error("Dead Letter 저장 실패 (JSON 직렬화 오류): requestId={}", request.getRequestId());
+        }
+
+        setStatus(request.getRequestId(), RequestStatus.FAILED);
+        log.error("Dead Letter 이동: requestId={}, stockCode={}, attempts={}, error={}",
+                request.getRequestId(), request.getStockCode(), request.getAttempt(), errorMessage);
+    }
+
+    private long backoffDelayMs(int attempt) {
+        long exponential = retryBaseDelayMs << Math.min(attempt - 1, 20);
+        long capped = Math.min(retryMaxDelayMs, exponential);
+        long half = capped / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    private Optional<StockPriceUpdateRequest> parseRetryMember(String member) {
+        int sep = member.indexOf('|');
+        try {
+            return Optional.of(objectMapper.readValue(member.substring(sep + 1), StockPriceUpdateRequest.class));
+        } catch (Exception e) {
+            log.warn("재시도 요청 역직렬화 실패: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Optional<Long> firstScore(Set<ZSetOperations.TypedTuple<String>> tuples) {
+        if (tuples == null || tuples.isEmpty()) {
+            return Optional.empty();
+        }
+        Double score = tuples.iterator().next().getScore();
+        return score != null ? Optional.of(score.longValue()) : Optional.empty();
+    }
+
+    /**
+     * Consumer Group으로 Stream 읽기
+     */
+    private List<StockPriceUpdateRequest> read(StreamReadOptions options, RequestPriority... priorities) {
+        @SuppressWarnings("unchecked")
+        StreamOffset<String>[] offsets = new StreamOffset[priorities.length];
+        for (int i = 0; i < priorities.length; i++) {
+            offsets[i] = StreamOffset.create(streamKey(priorities[i]), ReadOffset.lastConsumed());
+        }
+
+        List<MapRecord<String, Object, Object>> records;
+        try {
+            records = redisTemplate.opsForStream()
+                    .read(Consumer.from(CONSUMER_GROUP, consumerName), options, offsets);
+        } catch (Exception e) {
+            // Stream/Group이 삭제된 경우 재생성 후 다음 호출에서 재시도
+            if (isNoGroupError(e)) {
+                for (RequestPriority priority : priorities) {
+                    createGroupIfAbsent(streamKey(priority));
+                }
+                return new ArrayList<>();
+            }
+            throw e;
+        }
+
+        List<StockPriceUpdateRequest> requests = new ArrayList<>();
+        if (records == null) {
+            return requests;
+        }
+        for (MapRecord<String, Object, Object> record : records) {
+            toRequest(record).ifPresent(requests::add);
+        }
+        return requests;
+    }
+
+    /**
+     * Stream 레코드를 요청 객체로 변환
+     * 역직렬화할 수 없는 레코드는 ack 후 삭제
+     */
+    private Optional<StockPriceUpdateRequest> toRequest(MapRecord<String, Object, Object> record) {
+        Object payload = record.getValue().get(PAYLOAD_FIELD);
+        try {
+            StockPriceUpdateRequest request = objectMapper.readValue(String.valueOf(payload), StockPriceUpdateRequest.class);
+            request.setRecordId(record.getId().getValue());
+            return Optional.of(claimPending(request));
         } catch (Exception e) {
-            log.error("Queue dequeue 실패: priority={}, error={}", priority, e.getMessage());
+            log.error("Queue 레코드 역직렬화 실패, 폐기: stream={}, id={}, error={}",
+                    record.getStream(), record.getId(), e.getMessage());
+            redisTemplate.opsForStream().acknowledge(record.getStream(), CONSUMER_GROUP, record.getId());
+            redisTemplate.opsForStream().delete(record.getStream(), record.getId());
             return Optional.empty();
         }
     }
 
+    /**
+     * 대기 목록에서 요청을 제거하고 병합된 기간을 반영
+     * 이후 같은 종목 요청은 이 요청에 병합되지 않고 새 요청으로 등록됨
+     */
+    private StockPriceUpdateRequest claimPending(StockPriceUpdateRequest request) {
+        List<?> range = redisTemplate.execute(
+                CLAIM_PENDING_SCRIPT,
+                List.of(PENDING_KEY_PREFIX + request.getStockCode(), JOB_KEY_PREFIX + request.getRequestId()),
+                request.getRequestId()
+        );
+
+        if (range == null || range.size() < 2 || range.get(0) == null || range.get(1) == null) {
+            return request;
+        }
+
+        LocalDate startDate = LocalDate.ofEpochDay(Long.parseLong(String.valueOf(range.get(0))));
+        LocalDate endDate = LocalDate.ofEpochDay(Long.parseLong(String.valueOf(range.get(1))));
+        if (startDate.equals(request.getStartDate()) && endDate.equals(request.getEndDate())) {
+            return request;
+        }
+
+        log.info("병합된 기간 적용: requestId={}, {} ~ {} → {} ~ {}", request.getRequestId(),
+                request.getStartDate(), request.getEndDate(), startDate, endDate);
+        return request.toBuilder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .build();
+    }
+
+    /**
+     * Consumer Group 생성 (Stream이 없으면 함께 생성)
+     */
+    private void createGroupIfAbsent(String streamKey) {
+        try {
+            redisTemplate.opsForStream().createGroup(streamKey, ReadOffset.from("0"), CONSUMER_GROUP);
+            log.info("Consumer Group 생성: stream={}, group={}", streamKey, CONSUMER_GROUP);
+        } catch (Exception e) {
+            String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            if (message == null || !message.contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    private boolean isNoGroupError(Exception e) {
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return message != null && message.contains("NOGROUP");
+    }
+
+    /**
+     * 기존 Sorted Set Queue에 남아 있는 요청을 Stream으로 이관
+     */
+    private void migrateLegacyQueue(RequestPriority priority) {
+        String legacyKey = LEGACY_QUEUE_KEY_PREFIX + priority.name();
+        int migrated = 0;
+        while (true) {
+            Set<ZSetOperations.TypedTuple<String>> result = redisTemplate.opsForZSet().popMin(legacyKey, 1);
+            if (result == null || result.isEmpty()) {
+                break;
+            }
+            String requestJson = result.iterator().next().getValue();
+            if (requestJson != null) {
+                redisTemplate.opsForStream().add(streamKey(priority), Map.of(PAYLOAD_FIELD, requestJson));
+                migrated++;
+            }
+        }
+        if (migrated > 0) {
+            log.info("기존 Queue 이관 완료: priority={}, count={}", priority, migrated);
+        }
+    }
+
+    private String streamKey(RequestPriority priority) {
+        return STREAM_KEY_PREFIX + priority.name();
+    }
+
     /**
      * 요청 상태 조회
      */
@@ -121,16 +831,83 @@ public class StockPriceUpdateQueue {
      */
     public void setStatus(String requestId, RequestStatus status) {
         String statusKey = STATUS_KEY_PREFIX + requestId;
-        redisTemplate.opsForValue().set(statusKey, status.name(), Duration.ofHours(24));
+        redisTemplate.opsForValue().set(statusKey, status.name(), STATUS_TTL);
         log.debug("상태 변경: requestId={}, status={}", requestId, status);
+        publishStatus(RequestStatusEvent.of(requestId, status, getProgress(requestId)));
+    }
+
+    /**
+     * 상태/진행 상황 변경 발행 (발행 실패는 처리에 영향을 주지 않음)
+     */
+    private void publishStatus(RequestStatusEvent event) {
+        try {
+            redisTemplate.convertAndSend(STATUS_CHANNEL, objectMapper.writeValueAsString(event));
+        } catch (Exception e) {
+            log.debug("상태 변경 발행 실패: requestId={}, error={}", event.getRequestId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 상태 변경 이벤트 역직렬화
+     */
+    public Optional<RequestStatusEvent> parseStatusEvent(String message) {
+        try {
+            return Optional.of(objectMapper.readValue(message, RequestStatusEvent.class));
+        } catch (JsonProcessingException e) {
+            log.warn("상태 변경 이벤트 역직렬화 실패: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 진행 상황(체크포인트) 조회
+     * kis:job:{requestId} 해시의 cursor/pagesDone/pagesTotal/savedCount 필드
+     */
+    public RequestProgress getProgress(String requestId) {
+        List<Object> values = redisTemplate.opsForHash().multiGet(JOB_KEY_PREFIX + requestId,
+                List.of(CURSOR_FIELD, PAGES_DONE_FIELD, PAGES_TOTAL_FIELD, SAVED_COUNT_FIELD));
+        if (values == null || values.stream().allMatch(Objects::isNull)) {
+            return RequestProgress.empty();
+        }
+
+        return RequestProgress.builder()
+                .cursor(values.get(0) != null ? LocalDate.parse((String) values.get(0), DATE_FORMATTER) : null)
+                .pagesDone(parseIntOrZero(values.get(1)))
+                .pagesTotal(parseIntOrZero(values.get(2)))
+                .savedCount(parseIntOrZero(values.get(3)))
+                .build();
+    }
+
+    /**
+     * 진행 상황(체크포인트) 저장
+     * 재시도/재시작 시 cursor 이전 날짜부터 이어서 조회
+     */
+    public void saveProgress(String requestId, RequestProgress progress) {
+        String jobKey = JOB_KEY_PREFIX + requestId;
+        Map<String, String> fields = new HashMap<>();
+        if (progress.getCursor() != null) {
+            fields.put(CURSOR_FIELD, progress.getCursor().format(DATE_FORMATTER));
+        }
+        fields.put(PAGES_DONE_FIELD, String.valueOf(progress.getPagesDone()));
+        fields.put(PAGES_TOTAL_FIELD, String.valueOf(progress.getPagesTotal()));
+        fields.put(SAVED_COUNT_FIELD, String.valueOf(progress.getSavedCount()));
+
+        redisTemplate.opsForHash().putAll(jobKey, fields);
+        redisTemplate.expire(jobKey, Duration.ofHours(24));
+        log.debug("체크포인트 저장: requestId={}, cursor={}, pages={}/{}",
+                requestId, progress.getCursor(), progress.getPagesDone(), progress.getPagesTotal());
+        publishStatus(RequestStatusEvent.of(requestId, RequestStatus.PROCESSING, progress));
+    }
+
+    private int parseIntOrZero(Object value) {
+        return value != null ? Integer.parseInt((String) value) : 0;
     }
 
     /**
-     * Queue 크기 조회
+     * Queue 크기 조회 (처리 중인 Pending 요청 포함)
      */
     public long getQueueSize(RequestPriority priority) {
-        String queueKey = QUEUE_KEY_PREFIX + priority.name();
-        Long size = redisTemplate.opsForZSet().size(queueKey);
+        Long size = redisTemplate.opsForStream().size(streamKey(priority));
         return size != null ? size : 0;
     }
 
@@ -1,9 +1,11 @@
 package com.monstersinc.stock101.kis.queue;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -13,7 +15,7 @@ import java.time.temporal.ChronoUnit;
  * 주식 시세 업데이트 요청 DTO
  */
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class StockPriceUpdateRequest {
@@ -48,11 +50,28 @@ public class StockPriceUpdateRequest {
      */
     private RequestPriority priority;
 
+    /**
+     * 거래일 달력으로 계산한 API 호출 횟수 (BackfillPlanner)
+     */
+    private Integer plannedPages;
+
     /**
      * 생성 시각
      */
     private LocalDateTime createdAt;
 
+    /**
+     * 지금까지 실패한 횟수 (재시도 간격 계산 및 Dead Letter 판단에 사용)
+     */
+    private int attempt;
+
+    /**
+     * Redis Stream 레코드 ID (Queue에서 꺼낼 때 설정, ack에 사용)
+     */
+    @JsonIgnore
+    @Setter
+    private String recordId;
+
     /**
      * 요청 우선순위
      */
@@ -72,22 +91,26 @@ public class StockPriceUpdateRequest {
     }
 
     /**
-     * 필요한 API 호출 횟수 추정
-     * KIS API는 100건씩 반환하므로 일수 / 100
+     * 필요한 API 호출 횟수
+     * KIS API는 100거래일씩 반환하므로 계획된 호출 횟수를 사용하고,
+     * 계획이 없는 이전 요청은 평일 수 / 100으로 추정
      */
     public int estimateApiCalls() {
+        if (plannedPages != null) {
+            return plannedPages;
+        }
         long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
-        return (int) Math.ceil(days / 100.0);
+        return (int) Math.ceil(days * 5 / 7 / 100.0);
     }
 
     /**
      * 우선순위 자동 판단
      * API 호출 1-2회: HIGH (동기 처리)
      * API 호출 3회 이상: LOW (비동기 Queue 처리)
+     *
+     * @param apiCalls 거래일 달력으로 계산한 API 호출 횟수
      */
-    public static RequestPriority decidePriority(LocalDate startDate, LocalDate endDate) {
-        long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
-        int apiCalls = (int) Math.ceil(days / 100.0);
+    public static RequestPriority decidePriority(int apiCalls) {
         return apiCalls <= 2 ? RequestPriority.HIGH : RequestPriority.LOW;
     }
 }
@@ -1,28 +1,44 @@
 package com.monstersinc.stock101.kis.queue;
 
-import com.monstersinc.stock101.common.ratelimit.RateLimitException;
-import com.monstersinc.stock101.common.ratelimit.RateLimiter;
+import com.monstersinc.stock101.common.ratelimit.RateLimitTenant;
 import com.monstersinc.stock101.kis.dto.KisCandleResponse;
+import com.monstersinc.stock101.kis.dto.RequestProgress;
 import com.monstersinc.stock101.kis.event.StockPriceUpdateCompletedEvent;
 import com.monstersinc.stock101.kis.event.StockPriceUpdateFailedEvent;
+import com.monstersinc.stock101.kis.event.StockPricesInsertedEvent;
+import com.monstersinc.stock101.kis.service.BackfillPlanner;
 import com.monstersinc.stock101.kis.service.KisApiClient;
 import com.monstersinc.stock101.stock.model.mapper.StockPriceRepository;
 import com.monstersinc.stock101.stock.model.vo.StockPrice;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 백그라운드에서 Queue의 요청을 처리하는 Worker
- * 0.1초마다 Queue 체크하여 Rate Limit을 준수하며 처리
+ * 디스패처 스레드가 Stream을 블로킹 읽기로 대기하다가 비어 있는 Worker 슬롯에 요청을 분배하여 병렬 처리
+ * 모든 Worker는 같은 KIS_API Rate Limiter 버킷을 공유하므로 전체 처리량은 설정된 호출 한도를 따름
+ * (BACKFILL 몫으로 호출하여 사용자 요청용 예약분은 사용하지 않음)
  */
 @Slf4j
 @Service
@@ -30,92 +46,236 @@ import java.util.Optional;
 public class StockPriceUpdateWorker {
 
     private final StockPriceUpdateQueue queue;
-    private final RateLimiter rateLimiter;
     private final StockPriceRepository stockPriceRepository;
     private final ApplicationEventPublisher eventPublisher;
     private final KisApiClient kisApiClient;
+    private final BackfillPlanner backfillPlanner;
+
+    /**
+     * 동시에 처리할 요청 수 (Worker 스레드 수)
+     */
+    @Value("${kis.worker.pool-size:4}")
+    private int poolSize;
+
+    /**
+     * Worker의 Rate Limit 토큰 최대 대기 시간 (밀리초)
+     * 여러 Worker가 한 버킷을 나눠 쓰므로 동기 요청(5초)보다 길게 대기
+     */
+    @Value("${kis.worker.rate-limit-wait-ms:30000}")
+    private long rateLimitWaitMs;
+
+    /**
+     * Queue 블로킹 읽기 대기 시간 (밀리초)
+     * Redis 명령 타임아웃(spring.data.redis.timeout)보다 짧아야 함
+     */
+    @Value("${kis.queue.block-timeout-ms:500}")
+    private long blockTimeoutMs;
+
+    private ExecutorService executor;
+    private Semaphore slots;
+    private Thread dispatcher;
+    private volatile boolean running;
 
     private static final int MAX_ITEMS_PER_REQUEST = 100;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
 
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "kis-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.slots = new Semaphore(poolSize);
+        log.info("StockPriceUpdateWorker 초기화: poolSize={}", poolSize);
+    }
+
     /**
-     * 0.1초마다 Queue 체크
-     * Queue에서 요청을 꺼내 처리
+     * 애플리케이션 기동 완료 후 디스패처 스레드 시작
      */
-    @Scheduled(fixedDelay = 100)
-    public void processQueue() {
+    @EventListener(ApplicationReadyEvent.class)
+    public void startDispatcher() {
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "kis-worker-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+        executor.shutdown();
         try {
-            Optional<StockPriceUpdateRequest> requestOpt = queue.dequeue();
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 디스패처 루프
+     * 슬롯이 비면 Queue를 블로킹 읽기로 대기하고, 꺼낸 요청을 Worker 스레드에 분배
+     */
+    private void dispatchLoop() {
+        Duration blockTimeout = Duration.ofMillis(blockTimeoutMs);
+
+        while (running) {
+            try {
+                slots.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
 
-            if (requestOpt.isEmpty()) {
+            boolean dispatched = false;
+            try {
+                Optional<StockPriceUpdateRequest> requestOpt = queue.dequeue(blockTimeout);
+                if (requestOpt.isPresent()) {
+                    StockPriceUpdateRequest request = requestOpt.get();
+                    executor.execute(() -> {
+                        try {
+                            handleRequest(request);
+                        } finally {
+                            slots.release();
+                        }
+                    });
+                    dispatched = true;
+                }
+            } catch (RejectedExecutionException e) {
+                // 종료 중: ack하지 않은 요청은 다른 노드가 visibility timeout 후 회수
+                log.info("Worker 종료 중, 디스패처 중단");
                 return;
+            } catch (Exception e) {
+                log.error("Worker 처리 중 예외 발생: {}", e.getMessage(), e);
+                sleepQuietly(1000);
+            } finally {
+                if (!dispatched) {
+                    slots.release();
+                }
             }
+        }
+    }
+
+    /**
+     * 30초마다 다른 노드에서 멈춘 Pending 요청 회수
+     * 비어 있는 슬롯 수만큼만 가져와 바로 처리할 수 있게 함
+     */
+    @Scheduled(fixedDelay = 30000)
+    public void reclaimStalledRequests() {
+        int freeSlots = slots.availablePermits();
+        if (freeSlots <= 0) {
+            return;
+        }
+        int reclaimed = queue.reclaimStalled(freeSlots);
+        if (reclaimed > 0) {
+            log.info("멈춘 요청 {}건 회수", reclaimed);
+        }
+    }
 
-            StockPriceUpdateRequest request = requestOpt.get();
-            queue.setStatus(request.getRequestId(), RequestStatus.PROCESSING);
+    /**
+     * 1초마다 재시도 시각이 된 요청을 Stream으로 되돌림
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void promoteDueRetries() {
+        int promoted = queue.promoteDueRetries();
+        if (promoted > 0) {
+            log.info("재시도 요청 {}건 Queue 재진입", promoted);
+        }
+    }
 
-            log.info("Worker 시작: requestId={}, stockCode={}, startDate={}, endDate={}",
-                    request.getRequestId(), request.getStockCode(),
-                    request.getStartDate(), request.getEndDate());
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
-            try {
-                int totalSaved = processRequest(request);
-                queue.setStatus(request.getRequestId(), RequestStatus.COMPLETED);
+    /**
+     * 요청 하나를 처리하고 상태 및 이벤트 발행
+     */
+    private void handleRequest(StockPriceUpdateRequest request) {
+        queue.setStatus(request.getRequestId(), RequestStatus.PROCESSING);
 
-                // 완료 이벤트 발행 (알림용)
-                eventPublisher.publishEvent(
-                        StockPriceUpdateCompletedEvent.of(
-                                request.getRequestId(),
-                                request.getStockCode(),
-                                totalSaved
-                        )
-                );
+        log.info("Worker 시작: requestId={}, stockCode={}, startDate={}, endDate={}",
+                request.getRequestId(), request.getStockCode(),
+                request.getStartDate(), request.getEndDate());
 
-                log.info("✅ Worker 완료: requestId={}, stockCode={}, saved={}",
-                        request.getRequestId(), request.getStockCode(), totalSaved);
+        try {
+            int totalSaved = processRequest(request);
+            queue.setStatus(request.getRequestId(), RequestStatus.COMPLETED);
+            queue.acknowledge(request);
 
-            } catch (Exception e) {
-                log.error("❌ Worker 실패: requestId={}, stockCode={}, error={}",
-                        request.getRequestId(), request.getStockCode(), e.getMessage(), e);
-
-                queue.setStatus(request.getRequestId(), RequestStatus.FAILED);
-
-                // 실패 이벤트 발행
-                eventPublisher.publishEvent(
-                        StockPriceUpdateFailedEvent.of(
-                                request.getRequestId(),
-                                request.getStockCode(),
-                                e.getMessage()
-                        )
-                );
-            }
+            // 완료 이벤트 발행 (알림용)
+            eventPublisher.publishEvent(
+                    StockPriceUpdateCompletedEvent.of(
+                            request.getRequestId(),
+                            request.getStockCode(),
+                            request.getEndDate(),
+                            totalSaved
+                    )
+            );
+
+            log.info("✅ Worker 완료: requestId={}, stockCode={}, saved={}",
+                    request.getRequestId(), request.getStockCode(), totalSaved);
 
         } catch (Exception e) {
-            log.error("Worker 처리 중 예외 발생: {}", e.getMessage(), e);
+            log.error("❌ Worker 실패: requestId={}, stockCode={}, error={}",
+                    request.getRequestId(), request.getStockCode(), e.getMessage(), e);
+
+            // 재시도 예약 (최대 시도 횟수를 넘기면 Dead Letter로 이동)
+            if (queue.retryOrDeadLetter(request, e.getMessage())) {
+                return;
+            }
+
+            // 최종 실패 이벤트 발행
+            eventPublisher.publishEvent(
+                    StockPriceUpdateFailedEvent.of(
+                            request.getRequestId(),
+                            request.getStockCode(),
+                            e.getMessage()
+                    )
+            );
         }
     }
 
     /**
      * 요청 처리 (while 루프로 100건씩 조회)
      * Rate Limiter 적용
+     * 페이지마다 체크포인트(마지막으로 가져온 영업일)를 저장하고, 체크포인트가 있으면 그 이전 날짜부터 이어서 조회
+     * 전체 페이지 수는 병합된 최종 기간으로 다시 계획하고, 남은 기간에 거래일이 없으면 호출하지 않음
      */
-    private int processRequest(StockPriceUpdateRequest request) throws InterruptedException {
-        int totalSaved = 0;
+    private int processRequest(StockPriceUpdateRequest request) {
+        RequestProgress checkpoint = queue.getProgress(request.getRequestId());
+        int totalSaved = checkpoint.getSavedCount();
+        int pagesDone = checkpoint.getPagesDone();
+        int pagesTotal = Math.max(
+                backfillPlanner.plan(request.getStartDate(), request.getEndDate()).getPageCount(), pagesDone);
         LocalDate currentEndDate = request.getEndDate();
 
-        while (currentEndDate.isAfter(request.getStartDate()) || currentEndDate.isEqual(request.getStartDate())) {
+        if (checkpoint.getCursor() != null) {
+            currentEndDate = checkpoint.getCursor().minusDays(1);
+            log.info("체크포인트에서 재개: requestId={}, cursor={}, pages={}/{}",
+                    request.getRequestId(), checkpoint.getCursor(), pagesDone, pagesTotal);
+        }
 
-            // ⭐ Rate Limiter 토큰 획득 (최대 5초 대기)
-            boolean acquired = rateLimiter.acquire("KIS_API", 5000);
-            if (!acquired) {
-                throw new RateLimitException("KIS_API", 5000);
-            }
+        while (backfillPlanner.hasTradingDays(request.getStartDate(), currentEndDate)) {
 
-            // ⭐ KisApiClient 사용 (캐시 우선 조회)
+            // ⭐ KisApiClient 사용 (캐시 우선 조회, 실제 호출 시에만 공유 Rate Limit 토큰 소비)
+            // 백필 몫으로 호출하여 사용자 요청용 예약분은 남겨 둠
             KisCandleResponse response = kisApiClient.fetchCandleData(
                     request.getStockCode(),
                     request.getStartDate(),
-                    currentEndDate
+                    currentEndDate,
+                    RateLimitTenant.BACKFILL,
+                    rateLimitWaitMs
             );
 
             if (response == null) {
@@ -151,23 +311,45 @@ public class StockPriceUpdateWorker {
             // 배치 저장
             if (!entities.isEmpty()) {
                 stockPriceRepository.insertPrices(entities);
+                eventPublisher.publishEvent(StockPricesInsertedEvent.of(this, request.getStockId(), entities));
                 totalSaved += entities.size();
                 log.info("✅ Worker 저장: stockCode={}, saved={}", request.getStockCode(), entities.size());
             }
 
+            // 체크포인트 저장 (응답은 최신순이므로 마지막 항목이 가장 오래된 영업일)
+            String lastDateStr = response.getOutput2().get(response.getOutput2().size() - 1).getStckBsopDate();
+            LocalDate lastDate = LocalDate.parse(lastDateStr, DATE_FORMATTER);
+            pagesDone++;
+            pagesTotal = Math.max(pagesTotal, pagesDone);
+            queue.saveProgress(request.getRequestId(), RequestProgress.builder()
+                    .cursor(lastDate)
+                    .pagesDone(pagesDone)
+                    .pagesTotal(pagesTotal)
+                    .savedCount(totalSaved)
+                    .build());
+
+            // 진행 중임을 알려 다른 노드가 회수하지 않도록 함
+            queue.extendVisibility(request);
+
             // 다음 조회 설정
             if (response.getOutput2().size() < MAX_ITEMS_PER_REQUEST) {
                 log.debug("데이터 수 {} < {}, 조회 종료", response.getOutput2().size(), MAX_ITEMS_PER_REQUEST);
                 break;
             }
 
-            String lastDateStr = response.getOutput2().get(response.getOutput2().size() - 1).getStckBsopDate();
-            LocalDate lastDate = LocalDate.parse(lastDateStr, DATE_FORMATTER);
             currentEndDate = lastDate.minusDays(1);
 
             log.debug("Worker 다음 조회: startDate={}, endDate={}", request.getStartDate(), currentEndDate);
         }
 
+        // 완료 시 예상 페이지 수를 실제 페이지 수로 맞춤
+        queue.saveProgress(request.getRequestId(), RequestProgress.builder()
+                .cursor(request.getStartDate())
+                .pagesDone(pagesDone)
+                .pagesTotal(pagesDone)
+                .savedCount(totalSaved)
+                .build());
+
         return totalSaved;
     }
 }
@@ -0,0 +1,50 @@
+package com.monstersinc.stock101.kis.service;
+
+import com.monstersinc.stock101.common.calendar.KrxTradingCalendar;
+import com.monstersinc.stock101.kis.dto.BackfillPlan;
+import com.monstersinc.stock101.kis.dto.DateRange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 일봉 백필 계획
+ * KIS 일봉 API는 요청 기간의 최신 거래일부터 최대 100거래일씩 반환하므로,
+ * 거래일 달력으로 기간을 100거래일 단위로 나누어 정확한 호출 횟수와 페이지 경계를 계산
+ */
+@Service
+@RequiredArgsConstructor
+public class BackfillPlanner {
+
+    private final KrxTradingCalendar tradingCalendar;
+
+    /**
+     * 기간의 백필 계획 (시작일, 종료일 포함)
+     */
+    public BackfillPlan plan(LocalDate startDate, LocalDate endDate) {
+        List<LocalDate> days = tradingCalendar.tradingDaysBetween(startDate, endDate);
+        int pageSize = KisApiCacheService.MAX_ITEMS_PER_CALL;
+
+        List<DateRange> pages = new ArrayList<>((days.size() + pageSize - 1) / pageSize);
+        for (int newest = days.size() - 1; newest >= 0; newest -= pageSize) {
+            int oldest = Math.max(0, newest - pageSize + 1);
+            pages.add(DateRange.of(days.get(oldest), days.get(newest)));
+        }
+        return BackfillPlan.of(days.size(), pages);
+    }
+
+    /**
+     * 기간 안에 거래일이 있는지 (없으면 API를 호출해도 받을 데이터가 없음)
+     */
+    public boolean hasTradingDays(LocalDate startDate, LocalDate endDate) {
+        for (LocalDate day = endDate; !day.isBefore(startDate); day = day.minusDays(1)) {
+            if (tradingCalendar.isTradingDay(day)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
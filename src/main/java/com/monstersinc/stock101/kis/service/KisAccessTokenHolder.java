@@ -0,0 +1,357 @@
+package com.monstersinc.stock101.kis.service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.monstersinc.stock101.exception.GlobalException;
+import com.monstersinc.stock101.exception.message.GlobalExceptionMessage;
+import com.monstersinc.stock101.kis.dto.KisCredential;
+import com.monstersinc.stock101.kis.model.mapper.ApiTokenMapper;
+import com.monstersinc.stock101.kis.model.vo.ApiToken;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * KIS 액세스 토큰 보관소
+ * - 토큰을 메모리(volatile)에 보관하여 API 호출마다 DB를 조회하지 않음
+ * - 만료 전에 백그라운드 스케줄러가 미리 갱신
+ * - 갱신 시 Redis Pub/Sub으로 다른 노드에 알려 DB에서 새 토큰을 다시 읽게 함
+ * - 여러 노드가 동시에 발급하지 않도록 Redis 락으로 한 노드만 발급
+ * - 앱키 풀의 앱키마다 토큰 행(api_name), 락, 메모리 토큰을 따로 관리
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KisAccessTokenHolder {
+
+    private final RestTemplate restTemplate;
+    private final ApiTokenMapper apiTokenMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final KisCredentialPool credentialPool;
+
+    @Value("${kis.api-base-url:https://openapivts.koreainvestment.com:29443}")
+    private String apiBaseUrl;
+
+    /**
+     * 만료 몇 분 전에 미리 갱신할지
+     */
+    @Value("${kis.token.refresh-before-minutes:30}")
+    private long refreshBeforeMinutes;
+
+    private static final String TOKEN_ENDPOINT = "/oauth2/tokenP";
+    private static final String REFRESH_LOCK_KEY_PREFIX = "kis:token:refresh-lock:";
+    private static final String TOKEN_CHANNEL = "kis:token:refreshed";
+    private static final Duration REFRESH_LOCK_TTL = Duration.ofSeconds(30);
+
+    /**
+     * 락 해제: 내가 얻은 락일 때만 삭제 (발급이 TTL보다 오래 걸려 다른 노드가 얻은 락을 지우지 않도록)
+     */
+    private static final DefaultRedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>("""
+        if redis.call('GET', KEYS[1]) == ARGV[1] then
+            return redis.call('DEL', KEYS[1])
+        end
+        return 0
+        """, Long.class);
+    private static final DateTimeFormatter TOKEN_EXPIRE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+
+    /**
+     * 앱키별 토큰 상태 (key: api_name)
+     */
+    private final Map<String, TokenSlot> slots = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        for (KisCredential credential : credentialPool.getCredentials()) {
+            slots.put(credential.getTokenName(), new TokenSlot(credential));
+        }
+
+        // 다른 노드가 갱신하면 해당 앱키의 토큰만 DB에서 다시 읽음 (메시지 본문: api_name)
+        listenerContainer.addMessageListener((message, pattern) -> {
+            TokenSlot slot = slots.get(new String(message.getBody(), StandardCharsets.UTF_8));
+            if (slot != null) {
+                reloadFromDb(slot);
+            }
+        }, new ChannelTopic(TOKEN_CHANNEL));
+
+        slots.values().forEach(slot -> {
+            try {
+                reloadFromDb(slot);
+            } catch (Exception e) {
+                log.warn("KIS 토큰 초기 로드 실패 (최초 사용 시 발급): credential={}, error={}",
+                        slot.credential.getName(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 앱키의 액세스 토큰 조회
+     * 메모리 토큰이 유효하면 바로 반환, 없거나 만료되었으면 즉시 갱신
+     */
+    public String getAccessToken(KisCredential credential) {
+        TokenSlot slot = slots.get(credential.getTokenName());
+        if (slot == null) {
+            throw new IllegalArgumentException("앱키 풀에 없는 KIS 앱키: " + credential.getName());
+        }
+
+        ApiToken token = slot.current;
+        if (token != null && token.isValid()) {
+            return token.getAccessToken();
+        }
+        return refresh(slot, false).getAccessToken();
+    }
+
+    /**
+     * 1분마다 앱키별 만료 임박 여부 확인 후 백그라운드 갱신
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void refreshIfExpiringSoon() {
+        slots.values().forEach(slot -> {
+            ApiToken token = slot.current;
+            if (token != null && !isExpiringSoon(token)) {
+                return;
+            }
+            try {
+                refresh(slot, true);
+            } catch (Exception e) {
+                log.error("KIS 토큰 사전 갱신 실패 (다음 주기에 재시도): credential={}, error={}",
+                        slot.credential.getName(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * DB에 저장된 토큰을 메모리에 반영
+     */
+    private void reloadFromDb(TokenSlot slot) {
+        ApiToken stored = apiTokenMapper.selectByApiName(slot.credential.getTokenName());
+        if (stored != null && stored.isValid()) {
+            slot.current = stored;
+            log.debug("KIS 토큰 로드: credential={}, 만료: {}", slot.credential.getName(), stored.getExpiresAt());
+        }
+    }
+
+    /**
+     * 토큰 갱신
+     *
+     * @param proactive true면 만료 임박 토큰도 갱신 대상, false면 만료된 토큰만 갱신
+     */
+    private ApiToken refresh(TokenSlot slot, boolean proactive) {
+        KisCredential credential = slot.credential;
+        String tokenName = credential.getTokenName();
+
+        slot.lock.lock();
+        try {
+            // 다른 스레드가 이미 갱신했는지 확인
+            ApiToken token = slot.current;
+            if (isUsable(token, proactive)) {
+                return token;
+            }
+
+            // 다른 노드가 이미 갱신해 DB에 저장했는지 확인
+            ApiToken stored = apiTokenMapper.selectByApiName(tokenName);
+            if (isUsable(stored, proactive)) {
+                slot.current = stored;
+                return stored;
+            }
+
+            // 한 노드만 발급하도록 클러스터 락 획득
+            String lockKey = REFRESH_LOCK_KEY_PREFIX + tokenName;
+            Boolean locked = redisTemplate.opsForValue().setIfAbsent(lockKey, nodeId, REFRESH_LOCK_TTL);
+            if (!Boolean.TRUE.equals(locked)) {
+                return awaitRefreshByOtherNode(slot, stored);
+            }
+
+            try {
+                ApiToken issued = issueToken(credential);
+                apiTokenMapper.upsertToken(issued);
+                slot.current = issued;
+                redisTemplate.convertAndSend(TOKEN_CHANNEL, tokenName);
+                log.info("KIS 액세스 토큰 발급 및 DB 저장 완료: credential={}, 만료: {}",
+                        credential.getName(), issued.getExpiresAt());
+                return issued;
+            } finally {
+                redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(lockKey), nodeId);
+            }
+
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    /**
+     * 다른 노드가 발급 중일 때: 기존 토큰이 아직 유효하면 사용, 아니면 새 토큰이 저장될 때까지 대기
+     */
+    private ApiToken awaitRefreshByOtherNode(TokenSlot slot, ApiToken stored) {
+        if (stored != null && stored.isValid()) {
+            slot.current = stored;
+            return stored;
+        }
+
+        long deadline = System.currentTimeMillis() + REFRESH_LOCK_TTL.toMillis();
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            ApiToken refreshed = apiTokenMapper.selectByApiName(slot.credential.getTokenName());
+            if (refreshed != null && refreshed.isValid()) {
+                slot.current = refreshed;
+                return refreshed;
+            }
+        }
+
+        log.error("다른 노드의 KIS 토큰 발급 대기 시간 초과: credential={}", slot.credential.getName());
+        throw new GlobalException(GlobalExceptionMessage.KIS_TOKEN_REFRESH_FAILED);
+    }
+
+    private boolean isUsable(ApiToken token, boolean proactive) {
+        if (token == null || !token.isValid()) {
+            return false;
+        }
+        return !proactive || !isExpiringSoon(token);
+    }
+
+    private boolean isExpiringSoon(ApiToken token) {
+        return token.getExpiresAt() == null
+                || token.getExpiresAt().isBefore(LocalDateTime.now().plusMinutes(refreshBeforeMinutes));
+    }
+
+    /**
+     * KIS API에서 토큰 새로 발급
+     */
+    private ApiToken issueToken(KisCredential credential) {
+        log.info("KIS 액세스 토큰 발급 시작: credential={}", credential.getName());
+        try {
+            String url = apiBaseUrl + TOKEN_ENDPOINT;
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+
+            Map<String, String> body = Map.of(
+                    "grant_type", "client_credentials",
+                    "appkey", credential.getAppKey(),
+                    "appsecret", credential.getAppSecret()
+            );
+
+            HttpEntity<Map<String, String>> entity = new HttpEntity<>(body, headers);
+            ResponseEntity<KisTokenResponse> response = restTemplate.postForEntity(
+                    url, entity, KisTokenResponse.class
+            );
+
+            KisTokenResponse tokenResponse = response.getBody();
+            if (tokenResponse == null || tokenResponse.getAccessToken() == null) {
+                throw new IllegalStateException("KIS 토큰 발급 응답이 유효하지 않습니다.");
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            return ApiToken.builder()
+                    .apiName(credential.getTokenName())
+                    .accessToken(tokenResponse.getAccessToken())
+                    .tokenType(tokenResponse.getTokenType() != null ? tokenResponse.getTokenType() : "Bearer")
+                    .issuedAt(now)
+                    .expiresAt(resolveExpiry(now, tokenResponse))
+                    .build();
+
+        } catch (Exception e) {
+            log.error("KIS 토큰 갱신 실패: {}", e.getMessage(), e);
+            throw new GlobalException(GlobalExceptionMessage.KIS_TOKEN_REFRESH_FAILED);
+        }
+    }
+
+    /**
+     * 토큰 만료 시각 계산
+     */
+    private LocalDateTime resolveExpiry(LocalDateTime now, KisTokenResponse tokenResponse) {
+        // 만료 시각 문자열 우선 사용
+        if (tokenResponse.getAccessTokenTokenExpired() != null) {
+            try {
+                return LocalDateTime.parse(tokenResponse.getAccessTokenTokenExpired(), TOKEN_EXPIRE_FORMAT);
+            } catch (DateTimeParseException ex) {
+                log.warn("토큰 만료일시 파싱 실패: {}", tokenResponse.getAccessTokenTokenExpired());
+            }
+        }
+
+        // expires_in 사용
+        long expiresInSeconds = 0L;
+        try {
+            if (tokenResponse.getExpiresIn() != null) {
+                expiresInSeconds = Long.parseLong(tokenResponse.getExpiresIn());
+            }
+        } catch (NumberFormatException ex) {
+            log.warn("expires_in 파싱 실패: {}", tokenResponse.getExpiresIn());
+        }
+
+        // 기본값: 23시간
+        if (expiresInSeconds <= 0) {
+            expiresInSeconds = 23 * 60 * 60;
+        }
+
+        return now.plusSeconds(expiresInSeconds);
+    }
+
+    /**
+     * 앱키별 토큰 상태 (가상 스레드 고정을 피하기 위해 synchronized 대신 ReentrantLock 사용)
+     */
+    private static class TokenSlot {
+
+        private final KisCredential credential;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * 현재 토큰 (핫패스는 이 필드 한 번 읽기)
+         */
+        private volatile ApiToken current;
+
+        TokenSlot(KisCredential credential) {
+            this.credential = credential;
+        }
+    }
+
+    /**
+     * KIS 토큰 응답 DTO
+     */
+    @Getter
+    @NoArgsConstructor
+    private static class KisTokenResponse {
+        @JsonProperty("access_token")
+        private String accessToken;
+
+        @JsonProperty("token_type")
+        private String tokenType;
+
+        @JsonProperty("expires_in")
+        private String expiresIn;
+
+        @JsonProperty("access_token_token_expired")
+        private String accessTokenTokenExpired;
+    }
+}
@@ -1,21 +1,37 @@
 package com.monstersinc.stock101.kis.service;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.monstersinc.stock101.common.util.BinaryCacheCodec;
+import com.monstersinc.stock101.kis.dto.DateRange;
 import com.monstersinc.stock101.kis.dto.KisCandleResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * KIS API 캐싱 서비스
- * 일봉 데이터를 Redis에 캐시하여 API 호출 최소화
+ * 일봉 데이터를 종목별로 영업일 단위로 Redis에 저장하여 API 호출 최소화
+ * - kis:candles:{종목코드}: Sorted Set (score: epoch day, member: 일봉 데이터)
+ * - kis:candles:covered:{종목코드}: 이미 조회한 기간 목록 (휴장일도 포함하여 다시 조회하지 않음)
+ * - kis:candles:today:{종목코드}: 오늘 데이터 조회 여부 (장중에 변동하므로 1시간만 유효)
+ * 어떤 기간을 조회하든 저장된 데이터를 잘라서 응답하고, 빠진 구간만 KIS API로 조회
+ * Fallback 값(kis:fallback:{종목코드})은 JSON 대신 열 단위 바이너리로 저장 (KisCandleCodec)
  */
 @Slf4j
 @Service
@@ -23,14 +39,75 @@ import java.util.Optional;
 public class KisApiCacheService {
 
     private final StringRedisTemplate redisTemplate;
-    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    // 예전 JSON 값에는 isSuccess()가 "success" 필드로 함께 저장되어 있으므로 모르는 필드는 무시
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
-    private static final String CACHE_KEY_PREFIX = "kis:candle:";
+    /**
+     * Fallback 값 압축 여부
+     */
+    @Value("${kis.cache.compression-enabled:true}")
+    private boolean compressionEnabled;
+
+    private static final String CANDLE_KEY_PREFIX = "kis:candles:";
+    private static final String COVERED_KEY_PREFIX = "kis:candles:covered:";
+    private static final String TODAY_KEY_PREFIX = "kis:candles:today:";
     private static final String FALLBACK_KEY_PREFIX = "kis:fallback:";
+    private static final String LEGACY_CACHE_KEY_PREFIX = "kis:candle:";
+    private static final int SCAN_BATCH_SIZE = 500;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final String FIELD_SEPARATOR = "|";
+
+    /**
+     * KIS API 1회 최대 반환 건수 (응답은 최신순)
+     */
+    public static final int MAX_ITEMS_PER_CALL = 100;
+
+    private static final Duration CANDLE_TTL = Duration.ofDays(7);
+    private static final Duration TODAY_TTL = Duration.ofHours(1);
+
+    /**
+     * 조회한 일봉을 저장하고 조회 기간을 기존 기간 목록과 병합
+     * KEYS[1]: 일봉 Sorted Set, KEYS[2]: 조회 기간 목록, KEYS[3]: 오늘 조회 여부
+     * ARGV[1], ARGV[2]: 교체할 일봉 구간 (epoch day), ARGV[3]: 조회 완료로 기록할 구간의 끝 (ARGV[1]부터)
+     * ARGV[4]: TTL(초), ARGV[5]: 오늘 조회 여부 TTL(초, 0이면 기록하지 않음), ARGV[6..]: score, member 쌍
+     */
+    private static final DefaultRedisScript<Long> SAVE_CANDLES_SCRIPT = new DefaultRedisScript<>("""
+        redis.call('ZREMRANGEBYSCORE', KEYS[1], ARGV[1], ARGV[2])
+        for i = 6, #ARGV, 2 do
+            redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1])
+        end
+
+        local s = tonumber(ARGV[1])
+        local e = tonumber(ARGV[3])
+        if e >= s then
+            local ranges = redis.call('ZRANGE', KEYS[2], 0, -1)
+            for _, range in ipairs(ranges) do
+                local sep = string.find(range, ':')
+                local cs = tonumber(string.sub(range, 1, sep - 1))
+                local ce = tonumber(string.sub(range, sep + 1))
+
+                -- 겹치거나 맞닿은 기간이면 병합
+                if s <= ce + 1 and e >= cs - 1 then
+                    s = math.min(s, cs)
+                    e = math.max(e, ce)
+                    redis.call('ZREM', KEYS[2], range)
+                end
+            end
+            redis.call('ZADD', KEYS[2], s, s .. ':' .. e)
+        end
+
+        redis.call('EXPIRE', KEYS[1], ARGV[4])
+        redis.call('EXPIRE', KEYS[2], ARGV[4])
+        if tonumber(ARGV[5]) > 0 then
+            redis.call('SET', KEYS[3], '1', 'EX', ARGV[5])
+        end
+        return (#ARGV - 5) / 2
+        """, Long.class);
 
     /**
      * 캐시 조회
+     * 요청 기간의 최신 100건을 만드는 데 필요한 구간이 모두 저장되어 있을 때만 반환
      *
      * @param stockCode 종목코드
      * @param startDate 시작일
@@ -40,16 +117,14 @@ public class KisApiCacheService {
     public Optional<KisCandleResponse> getCachedCandleData(
             String stockCode, LocalDate startDate, LocalDate endDate) {
         try {
-            String key = buildCacheKey(stockCode, startDate, endDate);
-            String cached = redisTemplate.opsForValue().get(key);
-
-            if (cached != null) {
-                log.debug("✅ 캐시 HIT: {}", key);
-                return Optional.of(objectMapper.readValue(cached, KisCandleResponse.class));
+            Optional<DateRange> missing = findMissingRange(stockCode, startDate, endDate);
+            if (missing.isPresent()) {
+                log.debug("❌ 캐시 MISS: stockCode={}, missing={}", stockCode, missing.get());
+                return Optional.empty();
             }
 
-            log.debug("❌ 캐시 MISS: {}", key);
-            return Optional.empty();
+            log.debug("✅ 캐시 HIT: stockCode={}, start={}, end={}", stockCode, startDate, endDate);
+            return Optional.of(sliceCandleData(stockCode, startDate, endDate));
 
         } catch (Exception e) {
             log.warn("캐시 조회 실패: {}", e.getMessage());
@@ -58,38 +133,192 @@ public class KisApiCacheService {
     }
 
     /**
-     * 캐시 저장
-     * - 오늘 데이터: TTL 1시간 (장중에 변동)
-     * - 과거 데이터: TTL 7일 (불변이지만 메모리 관리)
+     * 요청 기간 중 아직 조회하지 않은 가장 최근 구간
+     * 그보다 최근 데이터만으로 이미 100건이 채워지면 응답에 영향이 없으므로 empty 반환
+     *
+     * @param stockCode 종목코드
+     * @param startDate 시작일
+     * @param endDate   종료일
+     * @return 조회가 필요한 구간 (없으면 empty)
+     */
+    public Optional<DateRange> findMissingRange(String stockCode, LocalDate startDate, LocalDate endDate) {
+        LocalDate today = LocalDate.now();
+        LocalDate end = endDate.isAfter(today) ? today : endDate;
+        if (end.isBefore(startDate)) {
+            return Optional.empty();
+        }
+
+        // 이미 조회한 구간 (시작일 오름차순, 서로 겹치지 않음)
+        List<long[]> covered = new ArrayList<>();
+        Set<String> ranges = redisTemplate.opsForZSet().range(COVERED_KEY_PREFIX + stockCode, 0, -1);
+        if (ranges != null) {
+            for (String range : ranges) {
+                int sep = range.indexOf(':');
+                covered.add(new long[]{
+                        Long.parseLong(range.substring(0, sep)),
+                        Long.parseLong(range.substring(sep + 1))
+                });
+            }
+        }
+        if (!end.isBefore(today) && Boolean.TRUE.equals(redisTemplate.hasKey(TODAY_KEY_PREFIX + stockCode))) {
+            covered.add(new long[]{today.toEpochDay(), today.toEpochDay()});
+        }
+
+        // 종료일부터 과거 방향으로 훑으면서 처음 만나는 빈 구간 찾기
+        long cursor = end.toEpochDay();
+        long start = startDate.toEpochDay();
+        for (int i = covered.size() - 1; i >= 0 && cursor >= start; i--) {
+            long coveredStart = covered.get(i)[0];
+            long coveredEnd = covered.get(i)[1];
+            if (coveredStart > cursor) {
+                continue;
+            }
+            if (coveredEnd < cursor) {
+                return toMissingRange(stockCode, Math.max(coveredEnd + 1, start), cursor, end);
+            }
+            cursor = coveredStart - 1;
+        }
+        if (cursor >= start) {
+            return toMissingRange(stockCode, start, cursor, end);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 빈 구간보다 최근 데이터가 이미 100건 이상이면 응답에 영향이 없으므로 무시
+     */
+    private Optional<DateRange> toMissingRange(String stockCode, long missingStart, long missingEnd, LocalDate end) {
+        if (missingEnd < end.toEpochDay()) {
+            Long newer = redisTemplate.opsForZSet().count(
+                    CANDLE_KEY_PREFIX + stockCode, missingEnd + 1, end.toEpochDay());
+            if (newer != null && newer >= MAX_ITEMS_PER_CALL) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(DateRange.of(LocalDate.ofEpochDay(missingStart), LocalDate.ofEpochDay(missingEnd)));
+    }
+
+    /**
+     * 저장된 일봉에서 요청 기간의 최신 100건을 KIS 응답 형태로 반환 (최신순)
      *
      * @param stockCode 종목코드
      * @param startDate 시작일
      * @param endDate   종료일
+     * @return 일봉 데이터
+     */
+    public KisCandleResponse sliceCandleData(String stockCode, LocalDate startDate, LocalDate endDate) {
+        Set<String> members = redisTemplate.opsForZSet().reverseRangeByScore(
+                CANDLE_KEY_PREFIX + stockCode,
+                startDate.toEpochDay(), endDate.toEpochDay(),
+                0, MAX_ITEMS_PER_CALL);
+
+        List<KisCandleResponse.KisCandleData> candles = new ArrayList<>();
+        if (members != null) {
+            for (String member : members) {
+                candles.add(decodeCandle(member));
+            }
+        }
+
+        KisCandleResponse response = new KisCandleResponse();
+        response.setRtCd("0");
+        response.setOutput2(candles);
+        return response;
+    }
+
+    /**
+     * 캐시 저장
+     * 응답의 일봉을 영업일 단위로 저장하고 조회한 기간을 기록
+     * - 100건이 꽉 찬 응답은 가장 오래된 일자 이전이 남아 있으므로 그 일자부터만 조회 완료로 기록
+     * - 오늘 데이터: 1시간만 조회 완료로 인정 (장중에 변동)
+     * - 과거 데이터: TTL 7일 (불변이지만 메모리 관리)
+     *
+     * @param stockCode 종목코드
+     * @param startDate 조회 시작일
+     * @param endDate   조회 종료일
      * @param data      응답 데이터
+     * @return 저장 성공 여부
      */
-    public void cacheCandleData(
+    public boolean cacheCandleData(
             String stockCode, LocalDate startDate, LocalDate endDate, KisCandleResponse data) {
         try {
-            String key = buildCacheKey(stockCode, startDate, endDate);
-            String json = objectMapper.writeValueAsString(data);
+            // 상장 이전 기간 등은 일자가 빈 항목이 올 수 있으므로 제외
+            List<KisCandleResponse.KisCandleData> candles = new ArrayList<>();
+            if (data.getOutput2() != null) {
+                for (KisCandleResponse.KisCandleData candle : data.getOutput2()) {
+                    if (candle.getStckBsopDate() != null && !candle.getStckBsopDate().isBlank()) {
+                        candles.add(candle);
+                    }
+                }
+            }
 
-            // TTL 계산: 오늘이 포함되면 1시간, 과거 데이터는 7일
-            Duration ttl = endDate.equals(LocalDate.now())
-                    ? Duration.ofHours(1)
-                    : Duration.ofDays(7);
+            LocalDate today = LocalDate.now();
+            LocalDate fetchedEnd = endDate.isAfter(today) ? today : endDate;
+            LocalDate coveredStart = startDate;
+            if (candles.size() >= MAX_ITEMS_PER_CALL) {
+                coveredStart = LocalDate.parse(candles.get(candles.size() - 1).getStckBsopDate(), DATE_FORMATTER);
+            }
+            LocalDate coveredEnd = fetchedEnd.isBefore(today) ? fetchedEnd : today.minusDays(1);
 
-            redisTemplate.opsForValue().set(key, json, ttl);
+            List<String> args = new ArrayList<>();
+            args.add(String.valueOf(coveredStart.toEpochDay()));
+            args.add(String.valueOf(fetchedEnd.toEpochDay()));
+            args.add(String.valueOf(coveredEnd.toEpochDay()));
+            args.add(String.valueOf(CANDLE_TTL.toSeconds()));
+            args.add(String.valueOf(fetchedEnd.isBefore(today) ? 0 : TODAY_TTL.toSeconds()));
+            for (KisCandleResponse.KisCandleData candle : candles) {
+                LocalDate date = LocalDate.parse(candle.getStckBsopDate(), DATE_FORMATTER);
+                args.add(String.valueOf(date.toEpochDay()));
+                args.add(encodeCandle(candle));
+            }
+
+            redisTemplate.execute(SAVE_CANDLES_SCRIPT,
+                    List.of(CANDLE_KEY_PREFIX + stockCode, COVERED_KEY_PREFIX + stockCode, TODAY_KEY_PREFIX + stockCode),
+                    args.toArray());
 
             // Fallback 캐시도 업데이트 (30일 TTL)
             saveFallbackCache(stockCode, data);
 
-            log.debug("캐시 저장: key={}, ttl={}", key, ttl);
+            log.debug("캐시 저장: stockCode={}, covered={}~{}, candles={}",
+                    stockCode, coveredStart, fetchedEnd, candles.size());
+            return true;
 
         } catch (Exception e) {
             log.warn("캐시 저장 실패 (서비스 계속): {}", e.getMessage());
+            return false;
         }
     }
 
+    /**
+     * 일봉 직렬화 (일자|시가|고가|저가|종가|거래량|거래대금)
+     */
+    private String encodeCandle(KisCandleResponse.KisCandleData candle) {
+        return String.join(FIELD_SEPARATOR,
+                candle.getStckBsopDate(),
+                nullToEmpty(candle.getStckOprc()),
+                nullToEmpty(candle.getStckHgpr()),
+                nullToEmpty(candle.getStckLwpr()),
+                nullToEmpty(candle.getStckClpr()),
+                nullToEmpty(candle.getAcmlVol()),
+                nullToEmpty(candle.getAcmlTrPbmn()));
+    }
+
+    private KisCandleResponse.KisCandleData decodeCandle(String member) {
+        String[] fields = member.split("\\|", -1);
+        KisCandleResponse.KisCandleData candle = new KisCandleResponse.KisCandleData();
+        candle.setStckBsopDate(fields[0]);
+        candle.setStckOprc(fields[1]);
+        candle.setStckHgpr(fields[2]);
+        candle.setStckLwpr(fields[3]);
+        candle.setStckClpr(fields[4]);
+        candle.setAcmlVol(fields[5]);
+        candle.setAcmlTrPbmn(fields[6]);
+        return candle;
+    }
+
+    private String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
     /**
      * Fallback 캐시 저장 (API 장애 시 사용)
      * 가장 최근에 성공한 데이터를 30일간 보관
@@ -100,8 +329,8 @@ public class KisApiCacheService {
     private void saveFallbackCache(String stockCode, KisCandleResponse data) {
         try {
             String key = FALLBACK_KEY_PREFIX + stockCode;
-            String json = objectMapper.writeValueAsString(data);
-            redisTemplate.opsForValue().set(key, json, Duration.ofDays(30));
+            byte[] value = BinaryCacheCodec.frame(KisCandleCodec.encode(data), compressionEnabled);
+            BinaryCacheCodec.set(redisTemplate, key, value, Duration.ofDays(30));
             log.debug("Fallback 캐시 저장: stockCode={}", stockCode);
         } catch (Exception e) {
             log.warn("Fallback 캐시 저장 실패: {}", e.getMessage());
@@ -117,11 +346,11 @@ public class KisApiCacheService {
     public Optional<KisCandleResponse> getFallbackCache(String stockCode) {
         try {
             String key = FALLBACK_KEY_PREFIX + stockCode;
-            String cached = redisTemplate.opsForValue().get(key);
+            byte[] cached = BinaryCacheCodec.get(redisTemplate, key);
 
-            if (cached != null) {
+            if (cached != null && cached.length > 0) {
                 log.info("⚠️ Fallback 캐시 사용: stockCode={}", stockCode);
-                return Optional.of(objectMapper.readValue(cached, KisCandleResponse.class));
+                return Optional.of(decodeFallback(cached));
             }
 
             return Optional.empty();
@@ -133,27 +362,64 @@ public class KisApiCacheService {
     }
 
     /**
-     * 캐시 키 생성
+     * 저장된 Fallback 값 복원 (예전 JSON 값은 만료될 때까지 그대로 읽음)
      */
-    private String buildCacheKey(String stockCode, LocalDate startDate, LocalDate endDate) {
-        return String.format("%s%s:%s:%s",
-                CACHE_KEY_PREFIX,
-                stockCode,
-                startDate.format(DATE_FORMATTER),
-                endDate.format(DATE_FORMATTER)
-        );
+    private KisCandleResponse decodeFallback(byte[] cached) throws IOException {
+        if (BinaryCacheCodec.isLegacyJson(cached)) {
+            return objectMapper.readValue(cached, KisCandleResponse.class);
+        }
+        return KisCandleCodec.decode(BinaryCacheCodec.unframe(cached));
     }
 
     /**
      * 특정 종목의 모든 캐시 삭제 (MST 업데이트 시 사용)
+     * KEYS는 전체 키 공간을 훑는 동안 Redis를 막으므로 사용하지 않음
+     * - 종목별 저장소 키는 이름이 정해져 있으므로 바로 UNLINK (삭제는 백그라운드 스레드에서 수행)
+     * - 예전 기간별 캐시 키(kis:candle:{종목코드}:*)는 SCAN 커서로 나눠 찾아 배치 단위로 UNLINK
      */
     public void evictAllCacheForStock(String stockCode) {
         try {
-            String pattern = CACHE_KEY_PREFIX + stockCode + ":*";
-            redisTemplate.keys(pattern).forEach(redisTemplate::delete);
-            log.info("종목 {} 캐시 전체 삭제", stockCode);
+            redisTemplate.unlink(List.of(
+                    CANDLE_KEY_PREFIX + stockCode,
+                    COVERED_KEY_PREFIX + stockCode,
+                    TODAY_KEY_PREFIX + stockCode));
+
+            long legacyEvicted = unlinkByPattern(LEGACY_CACHE_KEY_PREFIX + stockCode + ":*");
+            log.info("종목 {} 캐시 전체 삭제 (예전 기간별 캐시 {}건)", stockCode, legacyEvicted);
         } catch (Exception e) {
             log.warn("캐시 삭제 실패: {}", e.getMessage());
         }
     }
+
+    /**
+     * 패턴에 맞는 키를 SCAN으로 찾아 배치 단위로 UNLINK
+     */
+    private long unlinkByPattern(String pattern) {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(pattern)
+                .count(SCAN_BATCH_SIZE)
+                .build();
+
+        long evicted = 0;
+        List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= SCAN_BATCH_SIZE) {
+                    evicted += unlinkBatch(batch);
+                }
+            }
+        }
+        evicted += unlinkBatch(batch);
+        return evicted;
+    }
+
+    private long unlinkBatch(List<String> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Long unlinked = redisTemplate.unlink(batch);
+        batch.clear();
+        return unlinked != null ? unlinked : 0;
+    }
 }
@@ -1,13 +1,14 @@
 package com.monstersinc.stock101.kis.service;
 
-import com.fasterxml.jackson.annotation.JsonProperty;
+import com.monstersinc.stock101.common.ratelimit.AdaptiveRateController;
+import com.monstersinc.stock101.common.ratelimit.RateLimitException;
+import com.monstersinc.stock101.common.ratelimit.RateLimitTenant;
+import com.monstersinc.stock101.common.ratelimit.RateLimiter;
 import com.monstersinc.stock101.exception.message.GlobalExceptionMessage;
 import com.monstersinc.stock101.exception.GlobalException;
+import com.monstersinc.stock101.kis.dto.DateRange;
 import com.monstersinc.stock101.kis.dto.KisCandleResponse;
-import com.monstersinc.stock101.kis.model.mapper.ApiTokenMapper;
-import com.monstersinc.stock101.kis.model.vo.ApiToken;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
+import com.monstersinc.stock101.kis.dto.KisCredential;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,19 +18,26 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * KIS API 호출 전담 클라이언트
  * 캐시 우선 조회 → API 호출 → Fallback 순서로 동작
+ * 같은 (종목, 기간) 요청이 동시에 들어오면 한 번만 호출하고 결과를 공유 (single-flight)
+ * 앱키 풀에서 Rate Limit 여유가 가장 많은 앱키로 호출하므로 처리량은 앱키 수에 비례
  */
 @Slf4j
 @Service
@@ -38,62 +46,200 @@ public class KisApiClient {
 
     private final RestTemplate restTemplate;
     private final KisApiCacheService cacheService;
-    private final ApiTokenMapper apiTokenMapper;
-
-    @Value("${apikey.kis-key}")
-    private String kisKey;
-
-    @Value("${apikey.kis-secret}")
-    private String kisSecret;
+    private final KisAccessTokenHolder tokenHolder;
+    private final KisCredentialPool credentialPool;
+    private final RateLimiter rateLimiter;
+    private final AdaptiveRateController adaptiveRateController;
 
     @Value("${kis.api-base-url:https://openapivts.koreainvestment.com:29443}")
     private String apiBaseUrl;
 
-    private static final String API_NAME_KIS = "KIS";
+    private static final long DEFAULT_RATE_LIMIT_WAIT_MS = 5000;
+    private static final String THROTTLE_MSG_CODE = "EGW00201"; // 초당 거래건수 초과
+    private static final int MAX_THROTTLE_RETRIES = 3;
     private static final String CANDLE_ENDPOINT = "/uapi/domestic-stock/v1/quotations/inquire-daily-itemchartprice";
-    private static final String TOKEN_ENDPOINT = "/oauth2/tokenP";
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
-    private static final DateTimeFormatter TOKEN_EXPIRE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * 진행 중인 호출 (key: 종목코드:시작일:종료일)
+     */
+    private final Map<String, CompletableFuture<KisCandleResponse>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 일봉 데이터 조회 (사용자 요청, 캐시 우선, Rate Limit 최대 5초 대기)
+     */
+    public KisCandleResponse fetchCandleData(
+            String stockCode, LocalDate startDate, LocalDate endDate) {
+        return fetchCandleData(stockCode, startDate, endDate, RateLimitTenant.INTERACTIVE, DEFAULT_RATE_LIMIT_WAIT_MS);
+    }
 
     /**
      * 일봉 데이터 조회 (캐시 우선)
-     * 1. Redis 캐시 조회
-     * 2. 캐시 없으면 API 호출
-     * 3. API 실패 시 Fallback 캐시 사용
+     * 1. Redis 캐시 조회 (종목별 일봉 저장소에서 기간을 잘라서 반환)
+     * 2. 같은 요청이 진행 중이면 내 대기 시간 안에서 그 결과를 기다림
+     *    (대표 호출이 Rate Limit으로 실패하면 내 tenant로 다시 시도, 대기 시간을 넘기면 기다리지 않고 직접 호출)
+     * 3. 저장소에 빠진 구간이 있으면 여유가 가장 많은 앱키로 Rate Limit 토큰 획득 후 그 구간만 API 호출
+     * 4. API 실패 시 Fallback 캐시 사용
+     * Rate Limit 토큰은 실제 API를 호출할 때만 소비하므로 캐시 적중/합류한 요청은 토큰을 쓰지 않음
      *
-     * @param stockCode 종목코드
-     * @param startDate 시작일
-     * @param endDate   종료일
+     * @param stockCode       종목코드
+     * @param startDate       시작일
+     * @param endDate         종료일
+     * @param tenant          호출 주체 (사용자 요청이 백필에 밀리지 않도록 Rate Limit 몫을 구분)
+     * @param rateLimitWaitMs Rate Limit 토큰 최대 대기 시간 (밀리초, 합류 대기와 재시도를 포함한 전체 대기 시간)
      * @return 일봉 데이터
+     * @throws RateLimitException 대기 시간 안에 토큰을 얻지 못한 경우
      */
     public KisCandleResponse fetchCandleData(
-            String stockCode, LocalDate startDate, LocalDate endDate) {
+            String stockCode, LocalDate startDate, LocalDate endDate,
+            RateLimitTenant tenant, long rateLimitWaitMs) {
+
+        String flightKey = stockCode + ":" + startDate + ":" + endDate;
+        long deadline = System.currentTimeMillis() + rateLimitWaitMs;
+        while (true) {
+            // 1. 캐시 조회
+            Optional<KisCandleResponse> cached = cacheService.getCachedCandleData(stockCode, startDate, endDate);
+            if (cached.isPresent()) {
+                log.debug("캐시에서 반환: stockCode={}", stockCode);
+                return cached.get();
+            }
+
+            // 2. 진행 중인 동일 요청이 있으면 합류
+            CompletableFuture<KisCandleResponse> flight = new CompletableFuture<>();
+            CompletableFuture<KisCandleResponse> existing = inFlight.putIfAbsent(flightKey, flight);
+            if (existing != null) {
+                log.debug("진행 중인 동일 요청에 합류: {}", flightKey);
+                try {
+                    return awaitFlight(existing, remainingMs(deadline));
+                } catch (TimeoutException e) {
+                    // 대표가 백필 tenant로 오래 기다리는 중일 수 있으므로 내 tenant로 직접 호출 (남은 대기 시간 안에서)
+                    log.debug("합류한 요청이 대기 시간 안에 끝나지 않음, 직접 호출: {}, tenant={}", flightKey, tenant);
+                    return loadCandleData(stockCode, startDate, endDate, tenant, remainingMs(deadline));
+                } catch (RateLimitException e) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw e;
+                    }
+                    // 대표 호출의 tenant/대기 시간으로 실패한 것이므로 내 몫으로 다시 시도 (남은 대기 시간 안에서)
+                    // (사용자 요청이 백필 대표의 Rate Limit 실패를 그대로 받지 않도록)
+                    log.debug("합류한 요청이 Rate Limit으로 실패, 직접 다시 시도: {}, tenant={}", flightKey, tenant);
+                    continue;
+                }
+            }
 
-        // 1. 캐시 조회
-        Optional<KisCandleResponse> cached = cacheService.getCachedCandleData(stockCode, startDate, endDate);
-        if (cached.isPresent()) {
-            log.debug("캐시에서 반환: stockCode={}", stockCode);
-            return cached.get();
+            try {
+                KisCandleResponse response = loadCandleData(stockCode, startDate, endDate, tenant, remainingMs(deadline));
+                flight.complete(response);
+                return response;
+            } catch (RuntimeException e) {
+                flight.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(flightKey, flight);
+            }
         }
+    }
 
-        // 2. API 호출
+    /**
+     * 진행 중인 호출 결과 대기 (호출 측 예외를 그대로 전파)
+     *
+     * @throws TimeoutException 대기 시간 안에 대표 호출이 끝나지 않은 경우
+     */
+    private KisCandleResponse awaitFlight(CompletableFuture<KisCandleResponse> flight, long timeoutMs)
+            throws TimeoutException {
         try {
-            KisCandleResponse response = callKisApi(stockCode, startDate, endDate);
+            return flight.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RateLimitException("KIS", timeoutMs);
+        }
+    }
 
-            if (response != null && response.isSuccess()) {
-                // 3. 캐시 저장
-                cacheService.cacheCandleData(stockCode, startDate, endDate, response);
-                return response;
-            } else {
-                log.warn("KIS API 실패 응답: {}", response != null ? response.getMsg1() : "null");
-                // Fallback 시도
+    private static long remainingMs(long deadline) {
+        return Math.max(0, deadline - System.currentTimeMillis());
+    }
+
+    /**
+     * single-flight 대표 호출
+     * 저장소에서 빠진 가장 최근 구간만 KIS API로 조회해 저장하고, 다 채워지면 저장소에서 잘라서 반환
+     * 호출 제한(EGW00201) 응답은 해당 앱키의 적응형 Rate Limiter에 알려 속도를 줄인 뒤 같은 구간을 다시 조회
+     */
+    private KisCandleResponse loadCandleData(
+            String stockCode, LocalDate startDate, LocalDate endDate,
+            RateLimitTenant tenant, long rateLimitWaitMs) {
+
+        int throttled = 0;
+        while (true) {
+            // 대표가 되기 직전에 다른 호출이 채웠을 수 있으므로 매번 재확인
+            Optional<DateRange> missing = cacheService.findMissingRange(stockCode, startDate, endDate);
+            if (missing.isEmpty()) {
+                return cacheService.sliceCandleData(stockCode, startDate, endDate);
+            }
+
+            DateRange range = missing.get();
+            KisCredential credential = credentialPool.select();
+            acquireRateLimit(credential, tenant, rateLimitWaitMs);
+
+            try {
+                KisCandleResponse response = callKisApi(credential, stockCode, range.getStartDate(), range.getEndDate());
+
+                if (response != null && THROTTLE_MSG_CODE.equals(response.getMsgCd())) {
+                    adaptiveRateController.onThrottle(credential.getRateLimitKey());
+                    if (++throttled <= MAX_THROTTLE_RETRIES) {
+                        log.warn("KIS API 호출 제한 응답, 속도를 줄여 재시도: stockCode={}, retry={}", stockCode, throttled);
+                        continue;
+                    }
+                }
+
+                if (response == null || !response.isSuccess()) {
+                    log.warn("KIS API 실패 응답: {}", response != null ? response.getMsg1() : "null");
+                    // Fallback 시도
+                    return getFallbackOrThrow(stockCode);
+                }
+                adaptiveRateController.onSuccess(credential.getRateLimitKey());
+
+                // 캐시 저장 (저장 실패 시 같은 구간을 반복 호출하지 않도록 응답을 바로 반환)
+                if (!cacheService.cacheCandleData(stockCode, range.getStartDate(), range.getEndDate(), response)) {
+                    return response;
+                }
+
+            } catch (HttpStatusCodeException e) {
+                // 호출 제한은 HTTP 오류 본문으로 오기도 함
+                if (e.getResponseBodyAsString().contains(THROTTLE_MSG_CODE)) {
+                    adaptiveRateController.onThrottle(credential.getRateLimitKey());
+                    if (++throttled <= MAX_THROTTLE_RETRIES) {
+                        log.warn("KIS API 호출 제한 응답, 속도를 줄여 재시도: stockCode={}, retry={}", stockCode, throttled);
+                        continue;
+                    }
+                }
+                log.error("KIS API 호출 실패: {}", e.getMessage(), e);
+                return getFallbackOrThrow(stockCode);
+
+            } catch (Exception e) {
+                log.error("KIS API 호출 실패: {}", e.getMessage(), e);
+                // Fallback 캐시 시도
                 return getFallbackOrThrow(stockCode);
             }
+        }
+    }
 
-        } catch (Exception e) {
-            log.error("KIS API 호출 실패: {}", e.getMessage(), e);
-            // 4. Fallback 캐시 시도
-            return getFallbackOrThrow(stockCode);
+    /**
+     * 앱키의 Rate Limiter 토큰 획득
+     */
+    private void acquireRateLimit(KisCredential credential, RateLimitTenant tenant, long rateLimitWaitMs) {
+        String rateLimitKey = credential.getRateLimitKey();
+        try {
+            boolean acquired = rateLimiter.acquire(rateLimitKey, tenant, rateLimitWaitMs);
+            if (!acquired) {
+                throw new RateLimitException(rateLimitKey, rateLimitWaitMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RateLimitException(rateLimitKey, rateLimitWaitMs);
         }
     }
 
@@ -111,7 +257,8 @@ public class KisApiClient {
     /**
      * 실제 KIS API 호출
      */
-    private KisCandleResponse callKisApi(String stockCode, LocalDate startDate, LocalDate endDate) {
+    private KisCandleResponse callKisApi(
+            KisCredential credential, String stockCode, LocalDate startDate, LocalDate endDate) {
         String url = UriComponentsBuilder.fromHttpUrl(apiBaseUrl + CANDLE_ENDPOINT)
                 .queryParam("fid_cond_mrkt_div_code", "J")
                 .queryParam("fid_input_iscd", stockCode)
@@ -123,15 +270,16 @@ public class KisApiClient {
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("authorization", "Bearer " + getAccessToken());
-        headers.set("appKey", kisKey);
-        headers.set("appSecret", kisSecret);
+        headers.set("authorization", "Bearer " + tokenHolder.getAccessToken(credential));
+        headers.set("appKey", credential.getAppKey());
+        headers.set("appSecret", credential.getAppSecret());
         headers.set("tr_id", "FHKST03010100");
         headers.set("custtype", "P");
 
         HttpEntity<String> entity = new HttpEntity<>(headers);
 
-        log.info("KIS API 호출: stockCode={}, start={}, end={}", stockCode, startDate, endDate);
+        log.info("KIS API 호출: stockCode={}, start={}, end={}, credential={}",
+                stockCode, startDate, endDate, credential.getName());
 
         ResponseEntity<KisCandleResponse> responseEntity = restTemplate.exchange(
                 url, HttpMethod.GET, entity, KisCandleResponse.class
@@ -145,128 +293,4 @@ public class KisApiClient {
 
         return response;
     }
-
-    /**
-     * 액세스 토큰 조회 (DB 기반 + Double-Checked Locking)
-     */
-    private String getAccessToken() {
-        // 1. DB 조회 (Lock 없이)
-        ApiToken cachedToken = apiTokenMapper.selectByApiName(API_NAME_KIS);
-        if (cachedToken != null && cachedToken.isValid()) {
-            log.debug("DB에서 유효한 KIS 토큰 조회, 만료: {}", cachedToken.getExpiresAt());
-            return cachedToken.getAccessToken();
-        }
-
-        // 2. 동기화 블록 진입
-        synchronized (this) {
-            // Double-Checked Locking
-            cachedToken = apiTokenMapper.selectByApiName(API_NAME_KIS);
-            if (cachedToken != null && cachedToken.isValid()) {
-                log.debug("락 획득 후 유효한 토큰 발견, 만료: {}", cachedToken.getExpiresAt());
-                return cachedToken.getAccessToken();
-            }
-
-            return refreshAndSaveToken();
-        }
-    }
-
-    /**
-     * KIS API에서 토큰 새로 발급
-     */
-    private String refreshAndSaveToken() {
-        log.info("KIS 액세스 토큰 만료. 새로 발급 시작");
-        try {
-            String url = apiBaseUrl + TOKEN_ENDPOINT;
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            Map<String, String> body = Map.of(
-                    "grant_type", "client_credentials",
-                    "appkey", kisKey,
-                    "appsecret", kisSecret
-            );
-
-            HttpEntity<Map<String, String>> entity = new HttpEntity<>(body, headers);
-            ResponseEntity<KisTokenResponse> response = restTemplate.postForEntity(
-                    url, entity, KisTokenResponse.class
-            );
-
-            KisTokenResponse tokenResponse = response.getBody();
-            if (tokenResponse == null || tokenResponse.getAccessToken() == null) {
-                throw new IllegalStateException("KIS 토큰 발급 응답이 유효하지 않습니다.");
-            }
-
-            LocalDateTime now = LocalDateTime.now();
-            LocalDateTime expiresAt = resolveExpiry(now, tokenResponse);
-
-            // DB에 저장
-            ApiToken newToken = ApiToken.builder()
-                    .apiName(API_NAME_KIS)
-                    .accessToken(tokenResponse.getAccessToken())
-                    .tokenType(tokenResponse.getTokenType() != null ? tokenResponse.getTokenType() : "Bearer")
-                    .issuedAt(now)
-                    .expiresAt(expiresAt)
-                    .build();
-
-            apiTokenMapper.upsertToken(newToken);
-            log.info("KIS 액세스 토큰 발급 및 DB 저장 완료, 만료: {}", expiresAt);
-
-            return newToken.getAccessToken();
-
-        } catch (Exception e) {
-            log.error("KIS 토큰 갱신 실패: {}", e.getMessage(), e);
-            throw new RuntimeException("API 토큰 갱신 실패", e);
-        }
-    }
-
-    /**
-     * 토큰 만료 시각 계산
-     */
-    private LocalDateTime resolveExpiry(LocalDateTime now, KisTokenResponse tokenResponse) {
-        // 만료 시각 문자열 우선 사용
-        if (tokenResponse.getAccessTokenTokenExpired() != null) {
-            try {
-                return LocalDateTime.parse(tokenResponse.getAccessTokenTokenExpired(), TOKEN_EXPIRE_FORMAT);
-            } catch (DateTimeParseException ex) {
-                log.warn("토큰 만료일시 파싱 실패: {}", tokenResponse.getAccessTokenTokenExpired());
-            }
-        }
-
-        // expires_in 사용
-        long expiresInSeconds = 0L;
-        try {
-            if (tokenResponse.getExpiresIn() != null) {
-                expiresInSeconds = Long.parseLong(tokenResponse.getExpiresIn());
-            }
-        } catch (NumberFormatException ex) {
-            log.warn("expires_in 파싱 실패: {}", tokenResponse.getExpiresIn());
-        }
-
-        // 기본값: 23시간
-        if (expiresInSeconds <= 0) {
-            expiresInSeconds = 23 * 60 * 60;
-        }
-
-        return now.plusSeconds(expiresInSeconds);
-    }
-
-    /**
-     * KIS 토큰 응답 DTO
-     */
-    @Getter
-    @NoArgsConstructor
-    private static class KisTokenResponse {
-        @JsonProperty("access_token")
-        private String accessToken;
-
-        @JsonProperty("token_type")
-        private String tokenType;
-
-        @JsonProperty("expires_in")
-        private String expiresIn;
-
-        @JsonProperty("access_token_token_expired")
-        private String accessTokenTokenExpired;
-    }
 }
@@ -0,0 +1,249 @@
+package com.monstersinc.stock101.kis.service;
+
+import com.monstersinc.stock101.common.util.BinaryCacheCodec;
+import com.monstersinc.stock101.kis.dto.KisCandleResponse;
+import com.monstersinc.stock101.kis.dto.KisCandleResponse.KisCandleData;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * KIS 일봉 응답 바이너리 인코딩
+ * 행 단위 JSON 문자열 대신 열 단위로 저장
+ * - 일자: epoch day 차분
+ * - 시가/고가/저가/종가: 직전 행과의 차분 (zigzag 가변 길이)
+ * - 거래량/거래대금: 가변 길이 정수
+ * 숫자로 정확히 되돌릴 수 없는 값이 하나라도 있으면 해당 응답은 문자열 열로 저장
+ */
+final class KisCandleCodec {
+
+    private KisCandleCodec() {}
+
+    private static final List<Function<KisCandleData, String>> PRICE_GETTERS = List.of(
+            KisCandleData::getStckOprc,
+            KisCandleData::getStckHgpr,
+            KisCandleData::getStckLwpr,
+            KisCandleData::getStckClpr);
+
+    private static final List<BiConsumer<KisCandleData, String>> PRICE_SETTERS = List.of(
+            KisCandleData::setStckOprc,
+            KisCandleData::setStckHgpr,
+            KisCandleData::setStckLwpr,
+            KisCandleData::setStckClpr);
+
+    private static final List<Function<KisCandleData, String>> AMOUNT_GETTERS = List.of(
+            KisCandleData::getAcmlVol,
+            KisCandleData::getAcmlTrPbmn);
+
+    private static final List<BiConsumer<KisCandleData, String>> AMOUNT_SETTERS = List.of(
+            KisCandleData::setAcmlVol,
+            KisCandleData::setAcmlTrPbmn);
+
+    private static final List<Function<KisCandleData, String>> EXTRA_GETTERS = List.of(
+            KisCandleData::getFlngClsCode,
+            KisCandleData::getPrdyVrssSign,
+            KisCandleData::getPrdyVrss,
+            KisCandleData::getPrdyCtrt);
+
+    private static final List<BiConsumer<KisCandleData, String>> EXTRA_SETTERS = List.of(
+            KisCandleData::setFlngClsCode,
+            KisCandleData::setPrdyVrssSign,
+            KisCandleData::setPrdyVrss,
+            KisCandleData::setPrdyCtrt);
+
+    static byte[] encode(KisCandleResponse response) {
+        List<KisCandleData> rows = response.getOutput2() != null ? response.getOutput2() : List.of();
+        BinaryCacheCodec.Writer writer = new BinaryCacheCodec.Writer(64 + rows.size() * 24);
+
+        writer.writeString(response.getRtCd());
+        writer.writeString(response.getMsgCd());
+        writer.writeString(response.getMsg1());
+
+        KisCandleResponse.OutputHeader header = response.getOutput1();
+        writer.writeBoolean(header != null);
+        if (header != null) {
+            writer.writeString(header.getExym());
+            writer.writeString(header.getHisbase());
+            writer.writeString(header.getBasdt());
+            writer.writeString(header.getPrdyVrss());
+            writer.writeString(header.getPrdyVrssSign());
+            writer.writeString(header.getPrdyCtrt());
+            writer.writeString(header.getStckPrpr());
+        }
+
+        writer.writeBoolean(response.getOutput2() != null);
+        writer.writeVarLong(rows.size());
+
+        boolean numeric = isNumeric(rows);
+        writer.writeBoolean(numeric);
+        if (numeric) {
+            long previous = 0;
+            for (KisCandleData row : rows) {
+                long epochDay = toEpochDay(row.getStckBsopDate());
+                writer.writeSignedVarLong(epochDay - previous);
+                previous = epochDay;
+            }
+            for (Function<KisCandleData, String> getter : PRICE_GETTERS) {
+                previous = 0;
+                for (KisCandleData row : rows) {
+                    long value = Long.parseLong(getter.apply(row));
+                    writer.writeSignedVarLong(value - previous);
+                    previous = value;
+                }
+            }
+            for (Function<KisCandleData, String> getter : AMOUNT_GETTERS) {
+                for (KisCandleData row : rows) {
+                    writer.writeSignedVarLong(Long.parseLong(getter.apply(row)));
+                }
+            }
+        } else {
+            writeStringColumn(writer, rows, KisCandleData::getStckBsopDate);
+            PRICE_GETTERS.forEach(getter -> writeStringColumn(writer, rows, getter));
+            AMOUNT_GETTERS.forEach(getter -> writeStringColumn(writer, rows, getter));
+        }
+        EXTRA_GETTERS.forEach(getter -> writeStringColumn(writer, rows, getter));
+
+        return writer.toByteArray();
+    }
+
+    static KisCandleResponse decode(byte[] body) {
+        BinaryCacheCodec.Reader reader = new BinaryCacheCodec.Reader(body);
+        KisCandleResponse response = new KisCandleResponse();
+
+        response.setRtCd(reader.readString());
+        response.setMsgCd(reader.readString());
+        response.setMsg1(reader.readString());
+
+        if (reader.readBoolean()) {
+            response.setOutput1(new KisCandleResponse.OutputHeader(
+                    reader.readString(),
+                    reader.readString(),
+                    reader.readString(),
+                    reader.readString(),
+                    reader.readString(),
+                    reader.readString(),
+                    reader.readString()));
+        }
+
+        boolean hasRows = reader.readBoolean();
+        int size = (int) reader.readVarLong();
+        List<KisCandleData> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(new KisCandleData());
+        }
+
+        if (reader.readBoolean()) {
+            long previous = 0;
+            for (KisCandleData row : rows) {
+                previous += reader.readSignedVarLong();
+                row.setStckBsopDate(formatDate(previous));
+            }
+            for (BiConsumer<KisCandleData, String> setter : PRICE_SETTERS) {
+                previous = 0;
+                for (KisCandleData row : rows) {
+                    previous += reader.readSignedVarLong();
+                    setter.accept(row, Long.toString(previous));
+                }
+            }
+            for (BiConsumer<KisCandleData, String> setter : AMOUNT_SETTERS) {
+                for (KisCandleData row : rows) {
+                    setter.accept(row, Long.toString(reader.readSignedVarLong()));
+                }
+            }
+        } else {
+            readStringColumn(reader, rows, KisCandleData::setStckBsopDate);
+            PRICE_SETTERS.forEach(setter -> readStringColumn(reader, rows, setter));
+            AMOUNT_SETTERS.forEach(setter -> readStringColumn(reader, rows, setter));
+        }
+        EXTRA_SETTERS.forEach(setter -> readStringColumn(reader, rows, setter));
+
+        response.setOutput2(hasRows ? rows : null);
+        return response;
+    }
+
+    /**
+     * 모든 일자/가격/수량 값이 숫자로 정확히 되돌릴 수 있는 형태인지 확인
+     */
+    private static boolean isNumeric(List<KisCandleData> rows) {
+        for (KisCandleData row : rows) {
+            if (toEpochDay(row.getStckBsopDate()) == null) {
+                return false;
+            }
+            for (Function<KisCandleData, String> getter : PRICE_GETTERS) {
+                if (!isCanonicalLong(getter.apply(row))) {
+                    return false;
+                }
+            }
+            for (Function<KisCandleData, String> getter : AMOUNT_GETTERS) {
+                if (!isCanonicalLong(getter.apply(row))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * yyyyMMdd -> epoch day (형식이 맞지 않거나 없는 날짜면 null)
+     * DateTimeFormatter 파싱은 행마다 부르기엔 느려서 (인코딩 시간의 대부분) 자릿수를 직접 계산
+     */
+    private static Long toEpochDay(String value) {
+        if (value == null || value.length() != 8) {
+            return null;
+        }
+        int digits = 0;
+        for (int i = 0; i < 8; i++) {
+            char ch = value.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return null;
+            }
+            digits = digits * 10 + (ch - '0');
+        }
+        int year = digits / 10000;
+        if (year < 1000) {
+            return null; // 8자리로 되돌릴 수 없는 연도
+        }
+        try {
+            return LocalDate.of(year, digits / 100 % 100, digits % 100).toEpochDay();
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * epoch day -> yyyyMMdd
+     */
+    private static String formatDate(long epochDay) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        return Integer.toString(date.getYear() * 10000 + date.getMonthValue() * 100 + date.getDayOfMonth());
+    }
+
+    private static boolean isCanonicalLong(String value) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+        try {
+            return Long.toString(Long.parseLong(value)).equals(value);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static void writeStringColumn(
+            BinaryCacheCodec.Writer writer, List<KisCandleData> rows, Function<KisCandleData, String> getter) {
+        for (KisCandleData row : rows) {
+            writer.writeString(getter.apply(row));
+        }
+    }
+
+    private static void readStringColumn(
+            BinaryCacheCodec.Reader reader, List<KisCandleData> rows, BiConsumer<KisCandleData, String> setter) {
+        for (KisCandleData row : rows) {
+            setter.accept(row, reader.readString());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.monstersinc.stock101.kis.service;
+
+import com.monstersinc.stock101.common.ratelimit.RateLimiter;
+import com.monstersinc.stock101.kis.config.KisCredentialProperties;
+import com.monstersinc.stock101.kis.dto.KisCredential;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * KIS 앱키 풀
+ * - kis.credentials가 비어 있으면 apikey.kis-key / apikey.kis-secret 하나만 사용
+ * - 노드 로컬에 임대해 둔 토큰이 남은 앱키를 먼저 고르고, 없으면 돌아가면서 골라 한 앱키에 대기가 몰리지 않게 함
+ * - 고를 때는 Redis를 조회하지 않음 (고른 앱키에 로컬 토큰이 없을 때만 Rate Limiter가 Redis에서 임대/대기,
+ *   사용자 요청용 예약분 등 주체별 몫도 그때 적용)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KisCredentialPool {
+
+    private final KisCredentialProperties properties;
+    private final RateLimiter rateLimiter;
+
+    @Value("${apikey.kis-key:}")
+    private String kisKey;
+
+    @Value("${apikey.kis-secret:}")
+    private String kisSecret;
+
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    private List<KisCredential> credentials;
+
+    @PostConstruct
+    public void init() {
+        List<KisCredential> configured = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+
+        for (KisCredentialProperties.Credential credential : properties.getCredentials()) {
+            if (!StringUtils.hasText(credential.getName())
+                    || !StringUtils.hasText(credential.getAppKey())
+                    || !StringUtils.hasText(credential.getAppSecret())) {
+                throw new IllegalStateException("kis.credentials 항목에 name, app-key, app-secret이 모두 필요합니다.");
+            }
+            if (!names.add(credential.getName())) {
+                throw new IllegalStateException("kis.credentials 이름 중복: " + credential.getName());
+            }
+            configured.add(KisCredential.of(credential.getName(), credential.getAppKey(), credential.getAppSecret()));
+        }
+
+        if (configured.isEmpty()) {
+            if (!StringUtils.hasText(kisKey) || !StringUtils.hasText(kisSecret)) {
+                throw new IllegalStateException("KIS 앱키가 설정되지 않았습니다. (apikey.kis-key 또는 kis.credentials)");
+            }
+            configured.add(KisCredential.of(KisCredential.DEFAULT_NAME, kisKey, kisSecret));
+        }
+
+        credentials = List.copyOf(configured);
+        log.info("KIS 앱키 풀 구성: {}개 {}", credentials.size(), credentials);
+    }
+
+    /**
+     * 전체 앱키 목록
+     */
+    public List<KisCredential> getCredentials() {
+        return credentials;
+    }
+
+    /**
+     * 앱키 선택 (라운드 로빈 순서에서 로컬 임대 토큰이 남은 앱키 우선)
+     * 모두 비어 있으면 라운드 로빈 차례의 앱키를 골라 대기를 앱키별로 나눔
+     */
+    public KisCredential select() {
+        int size = credentials.size();
+        if (size == 1) {
+            return credentials.get(0);
+        }
+
+        int start = Math.floorMod(cursor.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            KisCredential credential = credentials.get((start + i) % size);
+            if (rateLimiter.hasLocalTokens(credential.getRateLimitKey())) {
+                return credential;
+            }
+        }
+        return credentials.get(start);
+    }
+}
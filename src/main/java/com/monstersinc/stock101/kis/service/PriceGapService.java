@@ -0,0 +1,325 @@
+package com.monstersinc.stock101.kis.service;
+
+import com.monstersinc.stock101.common.calendar.KrxTradingCalendar;
+import com.monstersinc.stock101.kis.dto.BackfillPlan;
+import com.monstersinc.stock101.kis.dto.DateRange;
+import com.monstersinc.stock101.kis.dto.GapScanReport;
+import com.monstersinc.stock101.kis.queue.StockPriceUpdateQueue;
+import com.monstersinc.stock101.kis.queue.StockPriceUpdateRequest;
+import com.monstersinc.stock101.kis.queue.StockPriceUpdateRequest.RequestPriority;
+import com.monstersinc.stock101.stock.model.dto.PriceCoverageDto;
+import com.monstersinc.stock101.stock.model.dto.PriceGapDto;
+import com.monstersinc.stock101.stock.model.mapper.StockMapper;
+import com.monstersinc.stock101.stock.model.mapper.StockPriceRepository;
+import com.monstersinc.stock101.stock.model.vo.Stock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 일봉 중간 누락 검사 및 복구
+ * - 저장된 일봉을 거래일 달력과 한 번의 쿼리로 비교해 종목별 중간 누락 구간을 찾음
+ * - 같은 종목의 누락 구간은 한 번의 호출(100거래일)로 함께 받을 수 있으면 묶어서 최소 호출로 복구
+ * - 복구 요청은 LOW 우선순위로 Queue에 넣어 Worker가 처리
+ * - 거래정지 등으로 KIS에도 없는 구간을 매번 다시 요청하지 않도록 구간별 복구 시도를 일정 기간 기록
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PriceGapService {
+
+    private final StockPriceRepository stockPriceRepository;
+    private final StockMapper stockMapper;
+    private final StockPriceUpdateQueue queue;
+    private final BackfillPlanner backfillPlanner;
+    private final KrxTradingCalendar tradingCalendar;
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 정기 검사 기간 (최근 며칠, 0이면 저장된 가장 이른 일봉부터 전체 이력)
+     */
+    @Value("${kis.gap.lookback-days:0}")
+    private int lookbackDays;
+
+    /**
+     * 같은 누락 구간을 다시 복구 요청하기까지의 시간 (일)
+     */
+    @Value("${kis.gap.retry-after-days:7}")
+    private int retryAfterDays;
+
+    private static final String ATTEMPT_KEY_PREFIX = "kis:gap:attempted:";
+    private static final String SCAN_LOCK_KEY = "kis:gap:scan-lock";
+    private static final Duration SCAN_LOCK_TTL = Duration.ofMinutes(30);
+    private static final int REPORT_LIMIT = 100;
+
+    /**
+     * 락 해제: 내가 얻은 락일 때만 삭제 (검사가 TTL보다 오래 걸려 다른 노드가 얻은 락을 지우지 않도록)
+     */
+    private static final DefaultRedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>("""
+        if redis.call('GET', KEYS[1]) == ARGV[1] then
+            return redis.call('DEL', KEYS[1])
+        end
+        return 0
+        """, Long.class);
+
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+
+    /**
+     * 매일 장 마감 후 전체 종목 검사 및 복구 (클러스터에서 한 노드만 실행)
+     */
+    @Scheduled(cron = "${kis.gap.scan-cron:0 0 19 * * MON-FRI}", zone = "Asia/Seoul")
+    public void scheduledRepair() {
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(SCAN_LOCK_KEY, nodeId, SCAN_LOCK_TTL);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.debug("다른 노드가 일봉 누락 검사 중, 건너뜀");
+            return;
+        }
+        try {
+            LocalDate endDate = tradingCalendar.latestSessionDate();
+            LocalDate startDate = lookbackDays > 0
+                    ? endDate.minusDays(lookbackDays)
+                    : stockPriceRepository.findEarliestDate();
+            if (startDate == null) {
+                return;
+            }
+            GapScanReport report = scan(startDate, endDate, null, true);
+            log.info("일봉 누락 정기 검사 완료: 종목 {}개 중 {}개 누락, 구간 {}개 / {}거래일, 완전성 {}, 복구 요청 {}건 (호출 {}회)",
+                    report.getScannedStocks(), report.getStocksWithGaps(), report.getGapCount(),
+                    report.getMissingDays(), String.format("%.4f", report.getCompleteness()),
+                    report.getEnqueuedRequests(), report.getPlannedApiCalls());
+        } catch (Exception e) {
+            log.error("일봉 누락 정기 검사 실패: {}", e.getMessage(), e);
+        } finally {
+            redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(SCAN_LOCK_KEY), nodeId);
+        }
+    }
+
+    /**
+     * 일봉 누락 검사 (기간 제한 없음, 전체 이력도 쿼리 한 번)
+     *
+     * @param startDate 검사 시작일
+     * @param endDate   검사 종료일
+     * @param stockCode 검사할 종목코드 (null이면 전체 종목)
+     * @param repair    true면 누락 구간 복구 요청을 Queue에 넣음
+     * @return 검사 결과
+     */
+    public GapScanReport scan(LocalDate startDate, LocalDate endDate, String stockCode, boolean repair) {
+        Long stockId = null;
+        if (stockCode != null) {
+            Stock stock = stockMapper.selectStockByCode(stockCode);
+            if (stock == null) {
+                throw new IllegalArgumentException("존재하지 않는 종목코드입니다: " + stockCode);
+            }
+            stockId = stock.getStockId();
+        }
+
+        LocalDate latestSession = tradingCalendar.latestSessionDate();
+        if (endDate.isAfter(latestSession)) {
+            endDate = latestSession;
+        }
+        List<LocalDate> excludedDates = new ArrayList<>();
+        List<LocalDate> tradingDays = resolveTradingDays(startDate, endDate, excludedDates);
+        if (tradingDays.isEmpty()) {
+            return emptyReport(startDate, endDate);
+        }
+
+        List<PriceGapDto> gaps = stockPriceRepository.findTradingDayGaps(startDate, endDate, excludedDates, stockId);
+        List<PriceCoverageDto> coverages = stockPriceRepository.findPriceCoverage(startDate, endDate, stockId);
+
+        // 종목별 완전성 계산 (첫 저장 일봉부터 검사 기간의 마지막 거래일까지)
+        Map<Long, PriceCoverageDto> coverageByStock = new LinkedHashMap<>();
+        long totalStored = 0;
+        long totalExpected = 0;
+        for (PriceCoverageDto coverage : coverages) {
+            int expected = countFrom(tradingDays, coverage.getFirstDate());
+            coverage.setStoredDays(Math.min(coverage.getStoredDays(), expected));
+            coverage.setExpectedDays(expected);
+            coverage.setCompleteness(expected > 0 ? (double) coverage.getStoredDays() / expected : 1.0);
+            coverageByStock.put(coverage.getStockId(), coverage);
+            totalStored += coverage.getStoredDays();
+            totalExpected += expected;
+        }
+
+        int missingDays = 0;
+        for (PriceGapDto gap : gaps) {
+            PriceCoverageDto coverage = coverageByStock.get(gap.getStockId());
+            if (coverage != null) {
+                coverage.getGaps().add(gap);
+            }
+            missingDays += gap.getMissingDays();
+        }
+
+        int enqueued = 0;
+        int plannedCalls = 0;
+        int skipped = 0;
+        if (repair) {
+            for (PriceCoverageDto coverage : coverageByStock.values()) {
+                for (DateRange range : mergeGaps(coverage.getGaps())) {
+                    if (!markAttempt(coverage.getStockCode(), range)) {
+                        skipped++;
+                        continue;
+                    }
+                    plannedCalls += enqueueRepair(coverage, range);
+                    enqueued++;
+                }
+            }
+        }
+
+        List<PriceCoverageDto> incomplete = new ArrayList<>();
+        for (PriceCoverageDto coverage : coverageByStock.values()) {
+            if (!coverage.getGaps().isEmpty() || coverage.getMissingDays() > 0) {
+                incomplete.add(coverage);
+            }
+        }
+        incomplete.sort(Comparator.comparingDouble(PriceCoverageDto::getCompleteness));
+        int stocksWithGaps = (int) coverageByStock.values().stream().filter(c -> !c.getGaps().isEmpty()).count();
+
+        return GapScanReport.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .tradingDays(tradingDays.size())
+                .scannedStocks(coverageByStock.size())
+                .stocksWithGaps(stocksWithGaps)
+                .gapCount(gaps.size())
+                .missingDays(missingDays)
+                .completeness(totalExpected > 0 ? (double) totalStored / totalExpected : 1.0)
+                .enqueuedRequests(enqueued)
+                .plannedApiCalls(plannedCalls)
+                .skippedGaps(skipped)
+                .incompleteStocks(incomplete.subList(0, Math.min(REPORT_LIMIT, incomplete.size())))
+                .build();
+    }
+
+    /**
+     * 검사 기준 거래일: 달력상 거래일 중 한 종목이라도 일봉이 있는 날
+     * 달력에 빠진 휴장일을 모든 종목의 누락으로 오인해 대량으로 호출하지 않도록 함
+     * 누락 쿼리는 일봉이 있는 날짜로 DB에서 순번을 매기므로, 일봉은 있지만 달력상 휴장일인 날짜는 excludedDates로 돌려줌
+     */
+    private List<LocalDate> resolveTradingDays(LocalDate startDate, LocalDate endDate, List<LocalDate> excludedDates) {
+        Set<LocalDate> storedDates = new HashSet<>(stockPriceRepository.findStoredDatesBetween(startDate, endDate));
+
+        List<LocalDate> tradingDays = new ArrayList<>();
+        List<LocalDate> emptyDays = new ArrayList<>();
+        for (LocalDate day : tradingCalendar.tradingDaysBetween(startDate, endDate)) {
+            if (storedDates.remove(day)) {
+                tradingDays.add(day);
+            } else {
+                emptyDays.add(day);
+            }
+        }
+        excludedDates.addAll(storedDates);
+        Collections.sort(excludedDates);
+
+        if (!emptyDays.isEmpty()) {
+            log.warn("거래일이지만 전 종목 일봉이 없는 날짜 {}일 (휴장일 설정 확인 필요): {}", emptyDays.size(), emptyDays);
+        }
+        if (!excludedDates.isEmpty()) {
+            log.warn("휴장일이지만 일봉이 있는 날짜 {}일 (누락 검사에서 제외): {}", excludedDates.size(), excludedDates);
+        }
+        return tradingDays;
+    }
+
+    /**
+     * 같은 종목의 누락 구간 병합
+     * 두 구간을 한 번에 요청해도 호출 수가 늘지 않으면 사이의 저장된 일봉까지 포함해 한 구간으로 묶음
+     */
+    private List<DateRange> mergeGaps(List<PriceGapDto> gaps) {
+        List<DateRange> merged = new ArrayList<>();
+        DateRange current = null;
+        int currentPages = 0;
+
+        for (PriceGapDto gap : gaps) {
+            DateRange next = DateRange.of(gap.getMissingStartDate(), gap.getMissingEndDate());
+            int nextPages = backfillPlanner.plan(next.getStartDate(), next.getEndDate()).getPageCount();
+
+            if (current != null) {
+                DateRange candidate = DateRange.of(current.getStartDate(), next.getEndDate());
+                int candidatePages = backfillPlanner.plan(candidate.getStartDate(), candidate.getEndDate()).getPageCount();
+                if (candidatePages < currentPages + nextPages) {
+                    current = candidate;
+                    currentPages = candidatePages;
+                    continue;
+                }
+                merged.add(current);
+            }
+            current = next;
+            currentPages = nextPages;
+        }
+
+        if (current != null) {
+            merged.add(current);
+        }
+        return merged;
+    }
+
+    /**
+     * 복구 요청을 LOW 우선순위로 Queue에 추가
+     *
+     * @return 계획된 API 호출 횟수
+     */
+    private int enqueueRepair(PriceCoverageDto coverage, DateRange range) {
+        BackfillPlan plan = backfillPlanner.plan(range.getStartDate(), range.getEndDate());
+        StockPriceUpdateRequest request = StockPriceUpdateRequest.builder()
+                .requestId(UUID.randomUUID().toString())
+                .stockId(coverage.getStockId())
+                .stockCode(coverage.getStockCode())
+                .startDate(range.getStartDate())
+                .endDate(range.getEndDate())
+                .priority(RequestPriority.LOW)
+                .plannedPages(plan.getPageCount())
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        String requestId = queue.enqueue(request);
+        log.info("일봉 누락 복구 요청: stockCode={}, {} ~ {}, calls={}, requestId={}",
+                coverage.getStockCode(), range.getStartDate(), range.getEndDate(), plan.getPageCount(), requestId);
+        return plan.getPageCount();
+    }
+
+    /**
+     * 구간 복구 시도 기록 (최근에 같은 구간을 이미 요청했으면 false)
+     */
+    private boolean markAttempt(String stockCode, DateRange range) {
+        String key = ATTEMPT_KEY_PREFIX + stockCode + ":" + range.getStartDate() + ":" + range.getEndDate();
+        Boolean marked = redisTemplate.opsForValue().setIfAbsent(key, nodeId, Duration.ofDays(retryAfterDays));
+        return Boolean.TRUE.equals(marked);
+    }
+
+    /**
+     * 해당 날짜 이후(포함) 거래일 수
+     */
+    private int countFrom(List<LocalDate> tradingDays, LocalDate from) {
+        int index = Collections.binarySearch(tradingDays, from);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return tradingDays.size() - index;
+    }
+
+    private GapScanReport emptyReport(LocalDate startDate, LocalDate endDate) {
+        return GapScanReport.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .completeness(1.0)
+                .incompleteStocks(List.of())
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.monstersinc.stock101.kis.service;
+
+import com.monstersinc.stock101.kis.dto.RequestStatusEvent;
+import com.monstersinc.stock101.kis.queue.RequestStatus;
+import com.monstersinc.stock101.kis.queue.StockPriceUpdateQueue;
+import com.monstersinc.stock101.notification.service.SseEmitterService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Queue 요청 상태 실시간 전송 (SSE)
+ * 상태 조회 API를 반복 호출하는 대신 한 번 구독하면 상태/페이지 진행이 바뀔 때마다 전송받음
+ * - 어느 노드의 Worker가 처리하든 Redis Pub/Sub({@link StockPriceUpdateQueue#STATUS_CHANNEL})으로 모든 노드에 전파
+ * - 구독 직후 현재 상태를 먼저 보내고, 완료/실패 등 최종 상태가 되면 연결 종료
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RequestStatusStreamService {
+
+    private final StockPriceUpdateQueue queue;
+    private final SseEmitterService sseEmitterService;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Value("${kis.queue.status-stream-timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    private static final String TOPIC_PREFIX = "kis:request:";
+    private static final String EVENT_NAME = "status";
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener((message, pattern) ->
+                queue.parseStatusEvent(new String(message.getBody(), StandardCharsets.UTF_8))
+                        .ifPresent(this::relay),
+                new ChannelTopic(StockPriceUpdateQueue.STATUS_CHANNEL));
+    }
+
+    /**
+     * 요청 상태 구독
+     * 구독을 먼저 등록한 뒤 현재 상태를 보내므로 그 사이의 변경을 놓치지 않음 (중복 전송은 가능)
+     *
+     * @param requestId 요청 ID
+     * @return SSE 연결
+     */
+    public SseEmitter subscribe(String requestId) {
+        String topic = TOPIC_PREFIX + requestId;
+        SseEmitter emitter = sseEmitterService.createTopicEmitter(topic, streamTimeoutMs);
+
+        RequestStatus status = queue.getStatus(requestId);
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .data(RequestStatusEvent.of(requestId, status, queue.getProgress(requestId))));
+            if (status.isTerminal()) {
+                emitter.complete();
+            }
+        } catch (IOException e) {
+            log.debug("초기 상태 전송 실패: requestId={}, error={}", requestId, e.getMessage());
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * 이 노드의 구독자에게 상태 변경 전달
+     */
+    private void relay(RequestStatusEvent event) {
+        String topic = TOPIC_PREFIX + event.getRequestId();
+        if (!sseEmitterService.hasTopicSubscribers(topic)) {
+            return;
+        }
+
+        sseEmitterService.sendToTopic(topic, EVENT_NAME, event);
+        if (event.getStatus() != null && event.getStatus().isTerminal()) {
+            sseEmitterService.completeTopic(topic);
+        }
+    }
+}
@@ -7,11 +7,13 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * SSE Emitter 관리 서비스
  * 사용자별 SSE 연결을 관리하고 실시간 알림을 전송합니다.
+ * 작업 진행 상황처럼 여러 연결이 같은 대상을 구독하는 경우 토픽별 연결도 관리합니다.
  */
 @Slf4j
 @Service
@@ -23,6 +25,9 @@ public class SseEmitterService {
     // userId -> SseEmitter 매핑
     private final Map<Long, SseEmitter> emitters = new ConcurrentHashMap<>();
 
+    // topic -> SseEmitter 목록 매핑
+    private final Map<String, Set<SseEmitter>> topicEmitters = new ConcurrentHashMap<>();
+
     /**
      * SSE 연결 생성
      * @param userId 사용자 ID
@@ -120,6 +125,83 @@ public class SseEmitterService {
         }
     }
 
+    /**
+     * 토픽 구독 SSE 연결 생성
+     * 같은 토픽을 여러 연결이 구독할 수 있으며, 타임아웃/완료/에러 시 해당 연결만 제거됩니다.
+     * @param topic 토픽
+     * @param timeout 타임아웃 (밀리초)
+     * @return SseEmitter
+     */
+    public SseEmitter createTopicEmitter(String topic, long timeout) {
+        SseEmitter emitter = new SseEmitter(timeout);
+        topicEmitters.computeIfAbsent(topic, k -> ConcurrentHashMap.newKeySet()).add(emitter);
+        log.debug("SSE 토픽 구독: topic={}", topic);
+
+        emitter.onTimeout(() -> removeTopicEmitter(topic, emitter));
+        emitter.onCompletion(() -> removeTopicEmitter(topic, emitter));
+        emitter.onError((e) -> removeTopicEmitter(topic, emitter));
+
+        return emitter;
+    }
+
+    /**
+     * 토픽 구독자가 있는지 확인
+     * @param topic 토픽
+     * @return 이 노드에 구독자가 있으면 true
+     */
+    public boolean hasTopicSubscribers(String topic) {
+        Set<SseEmitter> subscribers = topicEmitters.get(topic);
+        return subscribers != null && !subscribers.isEmpty();
+    }
+
+    /**
+     * 토픽 구독자 전체에게 이벤트 전송 (전송 실패한 연결은 제거)
+     * @param topic 토픽
+     * @param eventName 이벤트 이름
+     * @param data 이벤트 데이터
+     */
+    public void sendToTopic(String topic, String eventName, Object data) {
+        Set<SseEmitter> subscribers = topicEmitters.get(topic);
+        if (subscribers == null) {
+            return;
+        }
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name(eventName)
+                        .data(data));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("토픽 이벤트 전송 실패: topic={}, error={}", topic, e.getMessage());
+                removeTopicEmitter(topic, emitter);
+            }
+        }
+    }
+
+    /**
+     * 토픽 구독 연결 전체 종료
+     * @param topic 토픽
+     */
+    public void completeTopic(String topic) {
+        Set<SseEmitter> subscribers = topicEmitters.remove(topic);
+        if (subscribers == null) {
+            return;
+        }
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.complete();
+            } catch (Exception e) {
+                log.warn("Emitter 완료 처리 중 에러: topic={}", topic, e);
+            }
+        }
+    }
+
+    private void removeTopicEmitter(String topic, SseEmitter emitter) {
+        topicEmitters.computeIfPresent(topic, (k, subscribers) -> {
+            subscribers.remove(emitter);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
     /**
      * 현재 연결된 사용자 수 조회
      * @return 연결된 사용자 수
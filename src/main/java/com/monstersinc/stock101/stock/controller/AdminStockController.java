@@ -1,16 +1,24 @@
 package com.monstersinc.stock101.stock.controller;
 
+import com.monstersinc.stock101.common.calendar.KrxTradingCalendar;
+import com.monstersinc.stock101.kis.dto.GapScanReport;
+import com.monstersinc.stock101.kis.service.PriceGapService;
 import com.monstersinc.stock101.stock.service.StockMstDownloadService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+
 /**
  * 관리자 - 종목 데이터 관리 API
- * MST 파일 다운로드 및 동기화 기능 제공
+ * MST 파일 다운로드 및 동기화, 일봉 누락 검사/복구 기능 제공
  */
 @Slf4j
 @RestController
@@ -19,6 +27,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class AdminStockController {
 
     private final StockMstDownloadService stockMstDownloadService;
+    private final PriceGapService priceGapService;
+    private final KrxTradingCalendar tradingCalendar;
 
     /**
      * KOSPI 마스터 파일 즉시 다운로드 및 업데이트
@@ -61,4 +71,33 @@ public class AdminStockController {
                     ));
         }
     }
+
+    /**
+     * 일봉 중간 누락 검사 (종목별 완전성 포함, 복구 요청 없음)
+     * GET /api/v1/admin/stock/price-gaps?startDate=2025-01-01&stockCode=005930
+     */
+    @GetMapping("/price-gaps")
+    public ResponseEntity<GapScanReport> scanPriceGaps(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String stockCode) {
+        LocalDate end = endDate != null ? endDate : tradingCalendar.latestSessionDate();
+        LocalDate start = startDate != null ? startDate : end.minusYears(1);
+        return ResponseEntity.ok(priceGapService.scan(start, end, stockCode, false));
+    }
+
+    /**
+     * 일봉 중간 누락 검사 후 누락 구간만 KIS에서 다시 받도록 Queue에 추가
+     * POST /api/v1/admin/stock/price-gaps/repair?startDate=2025-01-01
+     */
+    @PostMapping("/price-gaps/repair")
+    public ResponseEntity<GapScanReport> repairPriceGaps(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String stockCode) {
+        LocalDate end = endDate != null ? endDate : tradingCalendar.latestSessionDate();
+        LocalDate start = startDate != null ? startDate : end.minusYears(1);
+        log.info("일봉 누락 복구 수동 요청: {} ~ {}, stockCode={}", start, end, stockCode);
+        return ResponseEntity.ok(priceGapService.scan(start, end, stockCode, true));
+    }
 }
@@ -1,15 +1,20 @@
 package com.monstersinc.stock101.stock.controller;
 
 import com.monstersinc.stock101.stock.model.dto.StockPriceResponseDto;
+import com.monstersinc.stock101.stock.model.vo.PricePeriod;
+import com.monstersinc.stock101.stock.model.vo.PriceSampling;
 import com.monstersinc.stock101.stock.service.StockPriceService;
+import com.monstersinc.stock101.stock.service.StockPriceStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.Map;
@@ -25,21 +30,28 @@ import java.util.Map;
 public class StockPriceController {
 
     private final StockPriceService stockPriceService;
+    private final StockPriceStreamService stockPriceStreamService;
 
     /**
      * 종목의 최근 N일 일봉 데이터 조회
-     * - Redis 캐시 확인 후 필요시 KIS API에서 최신 데이터 업데이트
+     * - Redis 캐시 확인 후 필요시 백그라운드에서 KIS API 최신 데이터 업데이트 (응답은 기다리지 않음)
      */
     @GetMapping("/{stockCode}/prices")
-    @Operation(summary = "일봉 데이터 조회", description = "종목의 최근 N일 일봉 데이터를 조회합니다. 오늘 처음 조회 시 KIS API에서 최신 데이터를 가져옵니다.")
+    @Operation(summary = "일봉 데이터 조회", description = "종목의 최근 N일 일봉 데이터를 조회합니다. period로 주/월/년봉(W/M/Y)을 요청할 수 있고, maxPoints를 주면 그 개수 이하로 줄여서 반환합니다. 오늘 처음 조회 시 저장된 데이터를 바로 반환하고 KIS API 최신 데이터는 백그라운드에서 가져옵니다 (refreshing=true).")
     public ResponseEntity<StockPriceResponseDto> getDailyPrices(
             @Parameter(description = "종목코드 (6자리)", example = "005930")
             @PathVariable String stockCode,
             @Parameter(description = "조회할 일수 (기본 30일)", example = "30")
-            @RequestParam(defaultValue = "30") int days) {
+            @RequestParam(defaultValue = "30") int days,
+            @Parameter(description = "봉 주기 (D: 일, W: 주, M: 월, Y: 년)", example = "D")
+            @RequestParam(defaultValue = "D") PricePeriod period,
+            @Parameter(description = "최대 봉 개수 (차트 폭, 생략하면 전체)", example = "600")
+            @RequestParam(required = false) Integer maxPoints,
+            @Parameter(description = "축소 방식 (OHLC: 봉 묶음, LTTB: 종가 모양 보존)", example = "OHLC")
+            @RequestParam(defaultValue = "OHLC") PriceSampling sampling) {
 
-        log.info("📊 일봉 조회 요청: stockCode={}, days={}", stockCode, days);
-        StockPriceResponseDto response = stockPriceService.getDailyPrices(stockCode, days);
+        log.info("📊 일봉 조회 요청: stockCode={}, days={}, period={}, maxPoints={}", stockCode, days, period, maxPoints);
+        StockPriceResponseDto response = stockPriceService.getDailyPrices(stockCode, days, period, maxPoints, sampling);
         return ResponseEntity.ok(response);
     }
 
@@ -47,20 +59,40 @@ public class StockPriceController {
      * 종목의 기간별 일봉 데이터 조회
      */
     @GetMapping("/{stockCode}/prices/period")
-    @Operation(summary = "기간별 일봉 데이터 조회", description = "종목의 특정 기간 일봉 데이터를 조회합니다.")
+    @Operation(summary = "기간별 일봉 데이터 조회", description = "종목의 특정 기간 일봉 데이터를 조회합니다. period로 주/월/년봉(W/M/Y)을 요청할 수 있고, maxPoints를 주면 그 개수 이하로 줄여서 반환합니다.")
     public ResponseEntity<StockPriceResponseDto> getDailyPricesByPeriod(
             @Parameter(description = "종목코드 (6자리)", example = "005930")
             @PathVariable String stockCode,
             @Parameter(description = "시작일 (yyyy-MM-dd)", example = "2025-01-01")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "종료일 (yyyy-MM-dd)", example = "2026-01-22")
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "봉 주기 (D: 일, W: 주, M: 월, Y: 년)", example = "D")
+            @RequestParam(defaultValue = "D") PricePeriod period,
+            @Parameter(description = "최대 봉 개수 (차트 폭, 생략하면 전체)", example = "600")
+            @RequestParam(required = false) Integer maxPoints,
+            @Parameter(description = "축소 방식 (OHLC: 봉 묶음, LTTB: 종가 모양 보존)", example = "OHLC")
+            @RequestParam(defaultValue = "OHLC") PriceSampling sampling) {
 
-        log.info("📊 기간별 일봉 조회 요청: stockCode={}, {} ~ {}", stockCode, startDate, endDate);
-        StockPriceResponseDto response = stockPriceService.getDailyPrices(stockCode, startDate, endDate);
+        log.info("📊 기간별 일봉 조회 요청: stockCode={}, {} ~ {}, period={}, maxPoints={}",
+                stockCode, startDate, endDate, period, maxPoints);
+        StockPriceResponseDto response = stockPriceService.getDailyPrices(
+                stockCode, startDate, endDate, period, maxPoints, sampling);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 종목 일봉 갱신 구독 (SSE)
+     * 백그라운드 갱신으로 새 일봉이 저장되면 "updated" 이벤트 전송
+     */
+    @GetMapping(value = "/{stockCode}/prices/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "일봉 갱신 구독", description = "조회 응답이 refreshing=true일 때 구독하면 새 일봉이 저장되는 즉시 updated 이벤트(version 포함)를 받습니다. connected 이벤트의 version이 조회 응답과 다르면 그 사이에 갱신된 것이므로 다시 조회합니다.")
+    public SseEmitter streamPriceUpdates(
+            @Parameter(description = "종목코드 (6자리)", example = "005930")
+            @PathVariable String stockCode) {
+        return stockPriceStreamService.subscribe(stockCode, () -> stockPriceService.getVersion(stockCode));
+    }
+
     /**
      * 캐시 상태 확인
      */
@@ -74,7 +106,7 @@ public class StockPriceController {
         return ResponseEntity.ok(Map.of(
                 "stockCode", stockCode,
                 "lastUpdate", lastUpdate != null ? lastUpdate.toString() : "never",
-                "needsUpdate", lastUpdate == null || lastUpdate.isBefore(LocalDate.now())
+                "needsUpdate", stockPriceService.needsUpdate(lastUpdate)
         ));
     }
 
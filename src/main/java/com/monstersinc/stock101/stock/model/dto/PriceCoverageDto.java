@@ -0,0 +1,60 @@
+package com.monstersinc.stock101.stock.model.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 종목별 일봉 완전성
+ * 첫 저장 일봉부터 검사 기간의 마지막 거래일까지 있어야 할 거래일 대비 저장된 거래일 비율
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class PriceCoverageDto {
+
+    private Long stockId;
+
+    private String stockCode;
+
+    /**
+     * 검사 기간 안의 첫 일봉 날짜
+     */
+    private LocalDate firstDate;
+
+    /**
+     * 검사 기간 안의 마지막 일봉 날짜
+     */
+    private LocalDate lastDate;
+
+    /**
+     * 저장된 거래일 수
+     */
+    private int storedDays;
+
+    /**
+     * 있어야 할 거래일 수
+     */
+    private int expectedDays;
+
+    /**
+     * 완전성 (storedDays / expectedDays, 0 ~ 1)
+     */
+    private double completeness;
+
+    /**
+     * 중간 누락 구간
+     */
+    private List<PriceGapDto> gaps = new ArrayList<>();
+
+    /**
+     * 빠진 거래일 수 (마지막 거래일 이후 미수집분 포함)
+     */
+    public int getMissingDays() {
+        return Math.max(0, expectedDays - storedDays);
+    }
+}
@@ -0,0 +1,50 @@
+package com.monstersinc.stock101.stock.model.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * 일봉 중간 누락 구간
+ * 저장된 두 일봉(prevDate, nextDate) 사이에 빠진 거래일이 있는 경우
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class PriceGapDto {
+
+    private Long stockId;
+
+    private String stockCode;
+
+    /**
+     * 누락 구간 직전에 저장된 일봉 날짜
+     */
+    private LocalDate prevDate;
+
+    /**
+     * 누락 구간 직후에 저장된 일봉 날짜
+     */
+    private LocalDate nextDate;
+
+    /**
+     * 빠진 거래일 수
+     */
+    private int missingDays;
+
+    /**
+     * 누락 구간 시작일 (직전 일봉 다음날)
+     */
+    public LocalDate getMissingStartDate() {
+        return prevDate.plusDays(1);
+    }
+
+    /**
+     * 누락 구간 종료일 (직후 일봉 전날)
+     */
+    public LocalDate getMissingEndDate() {
+        return nextDate.minusDays(1);
+    }
+}
@@ -1,5 +1,7 @@
 package com.monstersinc.stock101.stock.model.dto;
 
+import com.monstersinc.stock101.stock.model.vo.PricePeriod;
+import com.monstersinc.stock101.stock.model.vo.PriceSeries;
 import com.monstersinc.stock101.stock.model.vo.StockPrice;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,6 +9,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,7 +25,11 @@ public class StockPriceResponseDto {
     private String stockCode;
     private String stockName;
     private LocalDate lastUpdated;
+    private PricePeriod period;   // 봉 주기 (D/W/M/Y, 주/월/년봉의 date는 구간의 마지막 거래일)
     private List<DailyPrice> prices;
+    private Integer originalCount; // 축소 전 봉 개수 (maxPoints로 줄였을 때만, 아니면 null)
+    private boolean refreshing;   // 백그라운드 갱신 진행 중 여부 (true면 갱신 후 다시 조회)
+    private String version;       // 데이터 버전 (최종 업데이트 일자, 바뀌면 새 일봉이 저장된 것)
 
     @Data
     @Builder
@@ -50,6 +57,28 @@ public class StockPriceResponseDto {
         }
     }
 
+    public static StockPriceResponseDto of(String stockCode, String stockName,
+                                            LocalDate lastUpdated, PriceSeries series) {
+        List<DailyPrice> prices = new ArrayList<>(series.size());
+        for (int i = 0; i < series.size(); i++) {
+            prices.add(DailyPrice.builder()
+                    .date(series.getDate(i))
+                    .open(PriceSeries.toDouble(series.getOpen(i)))
+                    .high(PriceSeries.toDouble(series.getHigh(i)))
+                    .low(PriceSeries.toDouble(series.getLow(i)))
+                    .close(PriceSeries.toDouble(series.getClose(i)))
+                    .volume(PriceSeries.toDouble(series.getVolume(i)))
+                    .tradingValue(PriceSeries.toDouble(series.getTradingValue(i)))
+                    .build());
+        }
+        return StockPriceResponseDto.builder()
+                .stockCode(stockCode)
+                .stockName(stockName)
+                .lastUpdated(lastUpdated)
+                .prices(prices)
+                .build();
+    }
+
     public static StockPriceResponseDto of(String stockCode, String stockName, 
                                             LocalDate lastUpdated, List<StockPrice> prices) {
         return StockPriceResponseDto.builder()
@@ -1,8 +1,11 @@
 package com.monstersinc.stock101.stock.model.mapper;
 
+import com.monstersinc.stock101.stock.model.dto.PriceCoverageDto;
+import com.monstersinc.stock101.stock.model.dto.PriceGapDto;
 import com.monstersinc.stock101.stock.model.vo.StockPrice;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -30,11 +33,21 @@ public interface StockPriceRepository {
     List<StockPrice> findByStockIdAndDatetimeBetweenOrderByDatetimeAsc(
             @Param("stockId") Long stockId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
+    /**
+     * 종목의 전체 시세를 날짜 오름차순으로 한 행씩 전달 (목록을 만들지 않고 메모리 시계열에 바로 적재)
+     */
+    void streamByStockIdOrderByDatetimeAsc(@Param("stockId") Long stockId, ResultHandler<StockPrice> handler);
+
     /**
      * 최근 N개 시세 조회
      */
     List<StockPrice> findRecentPrices(@Param("stockId") Long stockId, @Param("limit") int limit);
     
+    /**
+     * 종목의 전체 시세 데이터 개수
+     */
+    long countByStockId(@Param("stockId") Long stockId);
+
     /**
      * 특정 날짜 이후의 시세 데이터 개수
      */
@@ -45,6 +58,34 @@ public interface StockPriceRepository {
      */
     LocalDate findLatestDateByStockId(@Param("stockId") Long stockId);
     
+    /**
+     * 기간 안에 일봉이 하나라도 있는 날짜 (전체 종목 기준, 오름차순)
+     */
+    List<LocalDate> findStoredDatesBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * 전체 종목에서 가장 이른 일봉 날짜
+     */
+    LocalDate findEarliestDate();
+
+    /**
+     * 종목별 중간 누락 구간 조회 (stockId가 null이면 전체 종목)
+     * 기간 안에 일봉이 하나라도 있는 날짜를 거래일 순번으로 삼아 연속된 두 일봉의 순번 차이가 1보다 큰 곳을 찾음
+     *
+     * @param excludedDates 일봉이 있어도 거래일로 보지 않을 날짜 (달력상 휴장일, 보통 비어 있음)
+     */
+    List<PriceGapDto> findTradingDayGaps(@Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate,
+                                         @Param("excludedDates") List<LocalDate> excludedDates,
+                                         @Param("stockId") Long stockId);
+
+    /**
+     * 종목별 저장 일봉 수와 첫/마지막 날짜 (stockId가 null이면 전체 종목)
+     */
+    List<PriceCoverageDto> findPriceCoverage(@Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate,
+                                             @Param("stockId") Long stockId);
+
     /**
      * 단건 저장
      */
@@ -0,0 +1,68 @@
+package com.monstersinc.stock101.stock.model.vo;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * 봉 주기 (KIS FID_PERIOD_DIV_CODE와 같은 코드 사용)
+ * 주/월/년봉은 KIS에서 따로 받지 않고 저장된 일봉을 묶어서 계산
+ */
+public enum PricePeriod {
+
+    /**
+     * 일봉
+     */
+    D,
+
+    /**
+     * 주봉 (월요일 ~ 일요일)
+     */
+    W,
+
+    /**
+     * 월봉
+     */
+    M,
+
+    /**
+     * 년봉
+     */
+    Y;
+
+    /**
+     * 날짜가 속한 구간의 첫날
+     */
+    public LocalDate bucketStart(LocalDate date) {
+        return switch (this) {
+            case D -> date;
+            case W -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case M -> date.withDayOfMonth(1);
+            case Y -> date.withDayOfYear(1);
+        };
+    }
+
+    /**
+     * 날짜가 속한 구간의 마지막 날
+     */
+    public LocalDate bucketEnd(LocalDate date) {
+        return switch (this) {
+            case D -> date;
+            case W -> date.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+            case M -> date.with(TemporalAdjusters.lastDayOfMonth());
+            case Y -> date.with(TemporalAdjusters.lastDayOfYear());
+        };
+    }
+
+    /**
+     * epoch day가 속한 구간의 첫날 (epoch day)
+     */
+    public int bucketStart(int epochDay) {
+        return switch (this) {
+            case D -> epochDay;
+            // 1970-01-01은 목요일이므로 3일을 더해 월요일 기준으로 맞춤
+            case W -> epochDay - Math.floorMod(epochDay + 3, 7);
+            case M, Y -> (int) bucketStart(LocalDate.ofEpochDay(epochDay)).toEpochDay();
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.monstersinc.stock101.stock.model.vo;
+
+/**
+ * 차트용 봉 축소 방식 (maxPoints보다 봉이 많을 때 적용)
+ */
+public enum PriceSampling {
+
+    /**
+     * 연속한 봉을 같은 개수씩 묶음 (시가/고가/저가/종가 보존, 캔들 차트용)
+     */
+    OHLC,
+
+    /**
+     * Largest-Triangle-Three-Buckets, 종가 모양을 보존하는 실제 봉만 고름 (선 차트용)
+     */
+    LTTB;
+
+    public PriceSeries apply(PriceSeries series, int maxPoints) {
+        return switch (this) {
+            case OHLC -> series.aggregate(maxPoints);
+            case LTTB -> series.lttb(maxPoints);
+        };
+    }
+}
@@ -0,0 +1,531 @@
+package com.monstersinc.stock101.stock.model.vo;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 종목 일봉 시계열 (컬럼 저장)
+ * 행마다 StockPrice 객체(박싱된 Double 6개)를 두지 않고 컬럼별 기본형 배열에 저장
+ * - 날짜는 epoch day(int), 가격은 double, 거래량/거래대금은 long (행당 52바이트)
+ * - 값이 없는(null) 가격은 NaN, 거래량/거래대금은 {@link #NO_AMOUNT}로 저장 (0과 구분)
+ * - 날짜 오름차순, 날짜당 한 행 (같은 날짜는 나중 값으로 대체)
+ * - 불변 객체: 추가/병합은 새 시계열을 반환하므로 읽는 쪽은 잠금 없이 사용
+ */
+public final class PriceSeries {
+
+    private static final PriceSeries EMPTY = new PriceSeries(0, new int[0], new double[0], new double[0],
+            new double[0], new double[0], new long[0], new long[0]);
+
+    /**
+     * 행당 메모리 (int + double 4개 + long 2개)
+     */
+    private static final int BYTES_PER_ROW = Integer.BYTES + Double.BYTES * 4 + Long.BYTES * 2;
+
+    /**
+     * 값이 없는 거래량/거래대금
+     */
+    public static final long NO_AMOUNT = Long.MIN_VALUE;
+
+    private final int size;
+    private final int[] days;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final long[] volume;
+    private final long[] tradingValue;
+
+    private PriceSeries(int size, int[] days, double[] open, double[] high, double[] low, double[] close,
+                        long[] volume, long[] tradingValue) {
+        this.size = size;
+        this.days = days;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+        this.tradingValue = tradingValue;
+    }
+
+    public static PriceSeries empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 일봉 목록으로 시계열 생성 (순서 무관, 같은 날짜는 목록에서 뒤에 있는 값 사용)
+     */
+    public static PriceSeries of(List<StockPrice> prices) {
+        if (prices.isEmpty()) {
+            return EMPTY;
+        }
+        List<StockPrice> sorted = new ArrayList<>(prices);
+        sorted.sort(Comparator.comparing(StockPrice::getDatetime)); // 안정 정렬이므로 같은 날짜는 원래 순서 유지
+
+        Builder builder = new Builder(sorted.size());
+        sorted.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * 오름차순으로 한 행씩 쌓는 빌더 (DB 조회 결과를 목록 없이 바로 적재할 때 사용)
+     */
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    /**
+     * 일봉 병합 (같은 날짜는 새 값으로 대체)
+     * 새 일봉이 모두 마지막 날짜 이후면 뒤에 이어 붙이기만 함
+     */
+    public PriceSeries merge(List<StockPrice> prices) {
+        PriceSeries other = of(prices);
+        if (other.size == 0) {
+            return this;
+        }
+        if (size == 0) {
+            return other;
+        }
+
+        Builder builder = new Builder(size + other.size);
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j >= other.size || (i < size && days[i] < other.days[j])) {
+                builder.add(this, i++);
+            } else {
+                if (i < size && days[i] == other.days[j]) {
+                    i++;
+                }
+                builder.add(other, j++);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * 기간 [startDate, endDate] 잘라내기 (이진 탐색)
+     */
+    public PriceSeries slice(LocalDate startDate, LocalDate endDate) {
+        int from = lowerBound((int) startDate.toEpochDay());
+        int to = lowerBound((int) endDate.toEpochDay() + 1);
+        if (from >= to) {
+            return EMPTY;
+        }
+        if (from == 0 && to == size) {
+            return this;
+        }
+        return new PriceSeries(to - from,
+                Arrays.copyOfRange(days, from, to),
+                Arrays.copyOfRange(open, from, to),
+                Arrays.copyOfRange(high, from, to),
+                Arrays.copyOfRange(low, from, to),
+                Arrays.copyOfRange(close, from, to),
+                Arrays.copyOfRange(volume, from, to),
+                Arrays.copyOfRange(tradingValue, from, to));
+    }
+
+    /**
+     * 마지막 N개 잘라내기
+     */
+    public PriceSeries tail(int count) {
+        if (count >= size) {
+            return this;
+        }
+        if (count <= 0) {
+            return EMPTY;
+        }
+        return slice(getDate(size - count), getDate(size - 1));
+    }
+
+    /**
+     * 주/월/년봉으로 묶기
+     * 시가는 구간 첫 시가, 고가/저가는 최고/최저, 종가는 마지막 종가, 거래량/거래대금은 합계 (값이 없는 행은 건너뜀)
+     * 각 봉의 날짜는 구간 안의 마지막 거래일 (진행 중인 구간은 지금까지의 일봉으로 계산)
+     */
+    public PriceSeries resample(PricePeriod period) {
+        return resample(period, EMPTY, 0);
+    }
+
+    /**
+     * 점진 재계산: 이전 봉 중 바뀐 날짜가 속한 구간 앞까지는 그대로 두고 그 구간부터만 다시 묶음
+     *
+     * @param period      봉 주기
+     * @param previous    바뀌기 전 일봉으로 계산한 봉
+     * @param changedFrom 새로 저장된 일봉 중 가장 이른 날짜 (epoch day)
+     */
+    public PriceSeries resample(PricePeriod period, PriceSeries previous, int changedFrom) {
+        if (period == PricePeriod.D) {
+            return this;
+        }
+
+        int keep = 0;
+        int from = 0;
+        if (!previous.isEmpty()) {
+            int bucketStart = period.bucketStart(changedFrom);
+            keep = previous.lowerBound(bucketStart);
+            from = lowerBound(bucketStart);
+        }
+
+        Builder builder = new Builder(keep + 16);
+        for (int i = 0; i < keep; i++) {
+            builder.add(previous, i);
+        }
+
+        int i = from;
+        while (i < size) {
+            int nextBucket = (int) period.bucketEnd(getDate(i)).toEpochDay() + 1;
+            int j = i;
+            while (j < size && days[j] < nextBucket) {
+                j++;
+            }
+            addBucket(builder, i, j);
+            i = j;
+        }
+        return builder.build();
+    }
+
+    /**
+     * 차트용 축소: 연속한 행을 거의 같은 개수씩 묶어 정확히 maxPoints개의 봉으로 만듦 (OHLC 보존)
+     * 구간 경계를 i * size / maxPoints로 나누므로 묶음 크기는 최대 1 차이 (올림한 크기로 나누면 봉이 maxPoints보다 크게 모자랄 수 있음)
+     * 묶는 방식은 주/월/년봉과 같고, 봉 날짜는 묶음의 마지막 날짜
+     */
+    public PriceSeries aggregate(int maxPoints) {
+        if (maxPoints <= 0 || size <= maxPoints) {
+            return this;
+        }
+        Builder builder = new Builder(maxPoints);
+        for (int bucket = 0; bucket < maxPoints; bucket++) {
+            int from = (int) ((long) bucket * size / maxPoints);
+            int to = (int) ((long) (bucket + 1) * size / maxPoints);
+            addBucket(builder, from, to);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 차트용 축소: Largest-Triangle-Three-Buckets (종가 기준)
+     * 첫/마지막 행은 유지하고, 구간마다 이웃 구간과 만드는 삼각형 넓이가 가장 큰 행 하나를 그대로 고름
+     * 선 차트 모양을 잘 보존하지만 고른 행 사이의 고가/저가는 버려짐
+     */
+    public PriceSeries lttb(int maxPoints) {
+        if (maxPoints <= 0 || size <= maxPoints) {
+            return this;
+        }
+        if (maxPoints < 3) {
+            return aggregate(maxPoints);
+        }
+
+        Builder builder = new Builder(maxPoints);
+        builder.add(this, 0);
+        double every = (double) (size - 2) / (maxPoints - 2);
+        int selected = 0;
+        for (int bucket = 0; bucket < maxPoints - 2; bucket++) {
+            // 다음 구간의 평균점
+            int nextFrom = (int) ((bucket + 1) * every) + 1;
+            int nextTo = Math.min(size, (int) ((bucket + 2) * every) + 1);
+            double avgX = 0;
+            double avgY = 0;
+            int nextCount = 0;
+            for (int k = nextFrom; k < nextTo; k++) {
+                if (!Double.isNaN(close[k])) {
+                    avgX += days[k];
+                    avgY += close[k];
+                    nextCount++;
+                }
+            }
+            double baseX = days[selected];
+            double baseY = close[selected];
+            if (nextCount > 0) {
+                avgX /= nextCount;
+                avgY /= nextCount;
+            } else {
+                avgX = days[nextTo - 1];
+                avgY = baseY;
+            }
+
+            // 현재 구간에서 (직전 선택점, 다음 구간 평균점)과 넓이가 가장 큰 행 (종가가 없는 행은 넓이가 NaN이라 고르지 않음)
+            int from = (int) (bucket * every) + 1;
+            int to = (int) ((bucket + 1) * every) + 1;
+            double maxArea = -1;
+            int best = from;
+            for (int k = from; k < to; k++) {
+                double area = Math.abs((baseX - avgX) * (close[k] - baseY) - (baseX - days[k]) * (avgY - baseY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    best = k;
+                }
+            }
+            builder.add(this, best);
+            selected = best;
+        }
+        builder.add(this, size - 1);
+        return builder.build();
+    }
+
+    /**
+     * [from, to) 행을 봉 하나로 묶어 추가
+     * 값이 없는 행은 건너뛰고, 구간 전체에 값이 없으면 그 값도 없는 것으로 둠
+     */
+    private void addBucket(Builder builder, int from, int to) {
+        double bucketOpen = Double.NaN;
+        double bucketHigh = Double.NaN;
+        double bucketLow = Double.NaN;
+        double bucketClose = Double.NaN;
+        long bucketVolume = NO_AMOUNT;
+        long bucketTradingValue = NO_AMOUNT;
+        for (int k = from; k < to; k++) {
+            if (Double.isNaN(bucketOpen)) {
+                bucketOpen = open[k];
+            }
+            if (!Double.isNaN(high[k]) && !(high[k] <= bucketHigh)) {
+                bucketHigh = high[k];
+            }
+            if (!Double.isNaN(low[k]) && !(low[k] >= bucketLow)) {
+                bucketLow = low[k];
+            }
+            if (!Double.isNaN(close[k])) {
+                bucketClose = close[k];
+            }
+            bucketVolume = addAmount(bucketVolume, volume[k]);
+            bucketTradingValue = addAmount(bucketTradingValue, tradingValue[k]);
+        }
+        builder.add(days[to - 1], bucketOpen, bucketHigh, bucketLow, bucketClose, bucketVolume, bucketTradingValue);
+    }
+
+    private static long addAmount(long sum, long value) {
+        if (value == NO_AMOUNT) {
+            return sum;
+        }
+        return sum == NO_AMOUNT ? value : sum + value;
+    }
+
+    /**
+     * key 이상인 첫 위치
+     */
+    private int lowerBound(int key) {
+        int index = Arrays.binarySearch(days, 0, size, key);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public LocalDate getDate(int index) {
+        return LocalDate.ofEpochDay(days[index]);
+    }
+
+    public int getEpochDay(int index) {
+        return days[index];
+    }
+
+    /**
+     * 시가 (없으면 NaN, 고가/저가/종가도 같음)
+     */
+    public double getOpen(int index) {
+        return open[index];
+    }
+
+    public double getHigh(int index) {
+        return high[index];
+    }
+
+    public double getLow(int index) {
+        return low[index];
+    }
+
+    public double getClose(int index) {
+        return close[index];
+    }
+
+    /**
+     * 거래량 (없으면 {@link #NO_AMOUNT}, 거래대금도 같음)
+     */
+    public long getVolume(int index) {
+        return volume[index];
+    }
+
+    public long getTradingValue(int index) {
+        return tradingValue[index];
+    }
+
+    /**
+     * 첫 날짜 (비어 있으면 null)
+     */
+    public LocalDate firstDate() {
+        return size > 0 ? getDate(0) : null;
+    }
+
+    /**
+     * 마지막 날짜 (비어 있으면 null)
+     */
+    public LocalDate lastDate() {
+        return size > 0 ? getDate(size - 1) : null;
+    }
+
+    /**
+     * 배열이 차지하는 대략적인 메모리 (바이트)
+     */
+    public long estimatedBytes() {
+        return (long) days.length * BYTES_PER_ROW;
+    }
+
+    /**
+     * 컬럼 값 -> 박싱 값 (없는 값은 null)
+     */
+    public static Double toDouble(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    public static Double toDouble(long amount) {
+        return amount == NO_AMOUNT ? null : (double) amount;
+    }
+
+    /**
+     * 오름차순 적재용 빌더
+     * 같은 날짜가 이어서 들어오면 마지막 값으로 대체하고, 순서가 어긋나면 정렬된 시계열로 다시 만듦
+     */
+    public static final class Builder {
+
+        private int size;
+        private boolean sorted = true;
+        private int[] days;
+        private double[] open;
+        private double[] high;
+        private double[] low;
+        private double[] close;
+        private long[] volume;
+        private long[] tradingValue;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(16, expectedSize);
+            days = new int[capacity];
+            open = new double[capacity];
+            high = new double[capacity];
+            low = new double[capacity];
+            close = new double[capacity];
+            volume = new long[capacity];
+            tradingValue = new long[capacity];
+        }
+
+        public Builder add(StockPrice price) {
+            int day = (int) price.getDatetime().toEpochDay();
+            int index = nextIndex(day);
+            days[index] = day;
+            open[index] = valueOf(price.getStckOprc());
+            high[index] = valueOf(price.getStckHgpr());
+            low[index] = valueOf(price.getStckLwpr());
+            close[index] = valueOf(price.getStckClpr());
+            volume[index] = amountOf(price.getAcmlVol());
+            tradingValue[index] = amountOf(price.getAcmlTrPbmn());
+            return this;
+        }
+
+        /**
+         * 컬럼 값으로 한 행 추가 (파일 저장소 등 이미 기본형으로 가진 데이터를 적재할 때 사용)
+         */
+        public Builder add(int epochDay, double openPrice, double highPrice, double lowPrice, double closePrice,
+                           long volumeValue, long tradingAmount) {
+            int index = nextIndex(epochDay);
+            days[index] = epochDay;
+            open[index] = openPrice;
+            high[index] = highPrice;
+            low[index] = lowPrice;
+            close[index] = closePrice;
+            volume[index] = volumeValue;
+            tradingValue[index] = tradingAmount;
+            return this;
+        }
+
+        private Builder add(PriceSeries source, int row) {
+            int index = nextIndex(source.days[row]);
+            days[index] = source.days[row];
+            open[index] = source.open[row];
+            high[index] = source.high[row];
+            low[index] = source.low[row];
+            close[index] = source.close[row];
+            volume[index] = source.volume[row];
+            tradingValue[index] = source.tradingValue[row];
+            return this;
+        }
+
+        /**
+         * 다음 행 위치 (직전 행과 날짜가 같으면 그 자리에 덮어씀)
+         */
+        private int nextIndex(int day) {
+            if (size > 0) {
+                int last = days[size - 1];
+                if (day == last) {
+                    return size - 1;
+                }
+                if (day < last) {
+                    sorted = false;
+                }
+            }
+            if (size == days.length) {
+                grow();
+            }
+            return size++;
+        }
+
+        private void grow() {
+            int capacity = days.length + (days.length >> 1);
+            days = Arrays.copyOf(days, capacity);
+            open = Arrays.copyOf(open, capacity);
+            high = Arrays.copyOf(high, capacity);
+            low = Arrays.copyOf(low, capacity);
+            close = Arrays.copyOf(close, capacity);
+            volume = Arrays.copyOf(volume, capacity);
+            tradingValue = Arrays.copyOf(tradingValue, capacity);
+        }
+
+        public PriceSeries build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            if (!sorted) {
+                return of(toPrices());
+            }
+            // 남는 용량은 잘라내어 캐시에 오래 머무는 배열 크기를 줄임
+            return new PriceSeries(size,
+                    Arrays.copyOf(days, size),
+                    Arrays.copyOf(open, size),
+                    Arrays.copyOf(high, size),
+                    Arrays.copyOf(low, size),
+                    Arrays.copyOf(close, size),
+                    Arrays.copyOf(volume, size),
+                    Arrays.copyOf(tradingValue, size));
+        }
+
+        private List<StockPrice> toPrices() {
+            List<StockPrice> prices = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                prices.add(StockPrice.builder()
+                        .datetime(LocalDate.ofEpochDay(days[i]))
+                        .stckOprc(toDouble(open[i]))
+                        .stckHgpr(toDouble(high[i]))
+                        .stckLwpr(toDouble(low[i]))
+                        .stckClpr(toDouble(close[i]))
+                        .acmlVol(toDouble(volume[i]))
+                        .acmlTrPbmn(toDouble(tradingValue[i]))
+                        .build());
+            }
+            return prices;
+        }
+
+        private static double valueOf(Double value) {
+            return value != null ? value : Double.NaN;
+        }
+
+        private static long amountOf(Double value) {
+            return value != null ? Math.round(value) : NO_AMOUNT;
+        }
+    }
+}
@@ -0,0 +1,490 @@
+package com.monstersinc.stock101.stock.service;
+
+import com.monstersinc.stock101.kis.event.StockPricesInsertedEvent;
+import com.monstersinc.stock101.stock.model.mapper.StockPriceRepository;
+import com.monstersinc.stock101.stock.model.vo.PriceSeries;
+import com.monstersinc.stock101.stock.model.vo.StockPrice;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * 종목별 일봉 파일 저장소 (메모리 맵, 컬럼 저장)
+ * MariaDB가 원본이고, 이 저장소는 장기간 조회와 전체 종목 스캔(스크리너/백테스트)을 위한 노드 로컬 사본
+ * - 종목당 파일 하나: 헤더 + 컬럼별 고정 용량 영역 (날짜 int, 시/고/저/종가 double, 거래량/거래대금 long)
+ * - 새 날짜는 용량 안에서 뒤에 이어 쓰고 행 수만 갱신 (append-only), 마지막 날짜 재저장은 그 자리에 덮어씀
+ * - 중간 날짜가 끼어들거나 용량이 부족하면 임시 파일에 다시 쓴 뒤 원자적으로 교체 (읽던 쪽은 이전 매핑을 계속 사용)
+ * - 조회는 매핑된 버퍼를 복사 없이 잘라낸 뷰({@link PriceSlice})로 반환
+ * - 처음 여는 파일은 DB의 행 수/마지막 날짜와 비교하여 다르면 DB에서 다시 만들고,
+ *   같아도 최근 verify-days일은 DB에서 다시 씀 (당일 봉은 같은 날짜 행을 그 자리에서 갱신하므로 행 수/마지막 날짜로는 알 수 없음)
+ * - 다른 노드에서 저장한 종목은 무효화 알림의 날짜 범위를 DB에서 다시 읽어 쓰고, 그 뒤에 메모리 시계열 캐시에서 제거
+ * stock.price.file-store.enabled=true일 때만 사용
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "stock.price.file-store.enabled", havingValue = "true")
+public class PriceFileStore {
+
+    private final StockPriceRepository stockPriceRepository;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final PriceSeriesCache priceSeriesCache;
+
+    @Value("${stock.price.file-store.dir:./data/prices}")
+    private Path directory;
+
+    @Value("${stock.price.file-store.verify-days:7}")
+    private int verifyDays;
+
+    private static final int MAGIC = 0x53505831; // "SPX1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int COUNT_OFFSET = 12;
+    private static final int ROW_BYTES = Integer.BYTES + Double.BYTES * 4 + Long.BYTES * 2;
+    private static final int CAPACITY_UNIT = 512;
+    private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    private static final String FILE_SUFFIX = ".bin";
+
+    /**
+     * 노드 식별자 (자기가 보낸 무효화 메시지 무시)
+     */
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+
+    /**
+     * stockId -> 파일 슬롯
+     */
+    private final Map<Long, Slot> slots = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(directory);
+        listenerContainer.addMessageListener((message, pattern) -> {
+            PriceSeriesCache.Invalidation invalidation =
+                    PriceSeriesCache.Invalidation.parse(new String(message.getBody(), StandardCharsets.UTF_8));
+            if (invalidation == null || invalidation.nodeId().equals(nodeId)) {
+                return;
+            }
+            refresh(invalidation);
+            priceSeriesCache.evict(invalidation.stockId()); // 파일을 갱신한 뒤에 제거해야 다음 적재가 새 파일을 읽음
+        }, new ChannelTopic(PriceSeriesCache.INVALIDATE_CHANNEL));
+        log.info("일봉 파일 저장소 사용: dir={}", directory.toAbsolutePath());
+    }
+
+    /**
+     * 기간 조회 (복사 없는 뷰)
+     */
+    public PriceSlice read(Long stockId, LocalDate startDate, LocalDate endDate) {
+        return open(stockId).slice(stockId, startDate, endDate);
+    }
+
+    /**
+     * 종목 전체 조회 (복사 없는 뷰)
+     */
+    public PriceSlice read(Long stockId) {
+        MappedFile file = open(stockId);
+        return file.slice(stockId, 0, file.count);
+    }
+
+    /**
+     * 저장소에 있는 전체 종목 스캔 (기간 안의 일봉을 종목별 뷰로 전달)
+     * 파일을 열 때 DB와 비교하므로 첫 스캔은 종목마다 조회 2번이 추가됨
+     */
+    public void scan(LocalDate startDate, LocalDate endDate, BiConsumer<Long, PriceSlice> visitor) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+            for (Path path : files) {
+                String name = path.getFileName().toString();
+                Long stockId;
+                try {
+                    stockId = Long.valueOf(name.substring(0, name.length() - FILE_SUFFIX.length()));
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                PriceSlice slice = read(stockId, startDate, endDate);
+                if (slice.size() > 0) {
+                    visitor.accept(stockId, slice);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 저장된 일봉 반영 (트랜잭션이 있으면 커밋 후, 없으면 즉시)
+     * 아직 열지 않은 종목은 다음에 열 때 DB와 비교하므로 여기서는 건너뜀
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPricesInserted(StockPricesInsertedEvent event) {
+        Slot slot = slots.get(event.getStockId());
+        if (slot == null) {
+            return;
+        }
+
+        slot.lock.lock();
+        try {
+            if (slot.current != null) {
+                slot.current = apply(event.getStockId(), slot.current, event.getPrices());
+            }
+        } catch (IOException e) {
+            log.warn("일봉 파일 반영 실패, 다음 조회 때 다시 생성: stockId={}, error={}", event.getStockId(), e.getMessage());
+            slot.current = null;
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    /**
+     * 다른 노드에서 저장한 일봉 반영: 알림의 날짜 범위를 DB에서 다시 읽어 씀
+     * 범위가 없는 알림이거나 DB 조회/쓰기에 실패하면 다음에 열 때 DB와 다시 비교
+     */
+    private void refresh(PriceSeriesCache.Invalidation invalidation) {
+        Slot slot = slots.get(invalidation.stockId());
+        if (slot == null) {
+            return;
+        }
+
+        slot.lock.lock();
+        try {
+            if (slot.current == null) {
+                return;
+            }
+            if (invalidation.fromDate() == null) {
+                slot.current = null;
+                return;
+            }
+            List<StockPrice> prices = stockPriceRepository.findByStockIdAndDatetimeBetweenOrderByDatetimeAsc(
+                    invalidation.stockId(), invalidation.fromDate(), invalidation.toDate());
+            slot.current = apply(invalidation.stockId(), slot.current, prices);
+        } catch (IOException | RuntimeException e) {
+            log.warn("일봉 파일 갱신 실패, 다음 조회 때 다시 생성: stockId={}, error={}",
+                    invalidation.stockId(), e.getMessage());
+            slot.current = null;
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    /**
+     * 일봉을 파일에 씀 (꼬리 쓰기가 안 되면 병합해서 새 파일로 교체, 슬롯 잠금을 잡은 상태에서 호출)
+     *
+     * @return 반영된 파일
+     */
+    private MappedFile apply(Long stockId, MappedFile file, List<StockPrice> prices) throws IOException {
+        if (file.tryWriteTail(PriceSeries.of(prices))) {
+            return file;
+        }
+        return write(stockId, file.toSeries().merge(prices));
+    }
+
+    /**
+     * 종목 파일 열기 (없거나 DB와 다르면 DB에서 생성)
+     */
+    private MappedFile open(Long stockId) {
+        Slot slot = slots.computeIfAbsent(stockId, k -> new Slot());
+        MappedFile file = slot.current;
+        if (file != null) {
+            return file;
+        }
+
+        slot.lock.lock();
+        try {
+            if (slot.current == null) {
+                slot.current = openOrRebuild(stockId);
+            }
+            return slot.current;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    private MappedFile openOrRebuild(Long stockId) throws IOException {
+        Path path = pathOf(stockId);
+        long dbCount = stockPriceRepository.countByStockId(stockId);
+        LocalDate dbLatest = stockPriceRepository.findLatestDateByStockId(stockId);
+
+        if (Files.exists(path)) {
+            MappedFile file = map(path);
+            if (file != null && file.count == dbCount && Objects.equals(file.lastDate(), dbLatest)) {
+                if (dbLatest == null) {
+                    return file;
+                }
+                // 행 수/마지막 날짜가 같아도 최근 일봉은 그 자리에서 갱신되었을 수 있으므로 다시 씀
+                List<StockPrice> recent = stockPriceRepository.findByStockIdAndDatetimeBetweenOrderByDatetimeAsc(
+                        stockId, dbLatest.minusDays(verifyDays), dbLatest);
+                if (file.tryWriteTail(PriceSeries.of(recent))) {
+                    return file;
+                }
+            }
+            log.info("일봉 파일이 DB와 달라 다시 생성: stockId={}, file={}, db={}",
+                    stockId, file != null ? file.count : -1, dbCount);
+        }
+
+        PriceSeries.Builder builder = PriceSeries.builder((int) dbCount);
+        stockPriceRepository.streamByStockIdOrderByDatetimeAsc(stockId,
+                context -> builder.add(context.getResultObject()));
+        return write(stockId, builder.build());
+    }
+
+    /**
+     * 시계열 전체를 새 파일로 쓰고 원자적으로 교체
+     */
+    private MappedFile write(Long stockId, PriceSeries series) throws IOException {
+        int capacity = capacityFor(series.size());
+        Path path = pathOf(stockId);
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(capacity));
+            buffer.order(BYTE_ORDER);
+            buffer.putInt(MAGIC_OFFSET, MAGIC);
+            buffer.putInt(VERSION_OFFSET, VERSION);
+            buffer.putInt(CAPACITY_OFFSET, capacity);
+
+            MappedFile file = new MappedFile(buffer, capacity, 0);
+            for (int i = 0; i < series.size(); i++) {
+                file.putRow(i, series, i);
+            }
+            file.publishCount(series.size());
+            buffer.force();
+        }
+
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.debug("일봉 파일 생성: stockId={}, rows={}, capacity={}", stockId, series.size(), capacity);
+        return map(path);
+    }
+
+    /**
+     * 파일 매핑 (형식이 맞지 않으면 null)
+     */
+    private MappedFile map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(BYTE_ORDER);
+            int capacity = buffer.getInt(CAPACITY_OFFSET);
+            int count = buffer.getInt(COUNT_OFFSET);
+            if (buffer.getInt(MAGIC_OFFSET) != MAGIC || buffer.getInt(VERSION_OFFSET) != VERSION
+                    || size < fileSize(capacity) || count < 0 || count > capacity) {
+                return null;
+            }
+            return new MappedFile(buffer, capacity, count);
+        }
+    }
+
+    private Path pathOf(Long stockId) {
+        return directory.resolve(stockId + FILE_SUFFIX);
+    }
+
+    /**
+     * 용량: 행 수의 1.5배를 CAPACITY_UNIT 단위로 올림 (이어 쓰기 여유)
+     */
+    private static int capacityFor(int rows) {
+        int wanted = Math.max(CAPACITY_UNIT, rows + rows / 2);
+        return (wanted + CAPACITY_UNIT - 1) / CAPACITY_UNIT * CAPACITY_UNIT;
+    }
+
+    private static long fileSize(int capacity) {
+        return HEADER_SIZE + (long) capacity * ROW_BYTES;
+    }
+
+    /**
+     * 종목별 파일 슬롯 (쓰기는 잠금으로 직렬화, 읽기는 current만 참조)
+     */
+    private static class Slot {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile MappedFile current;
+    }
+
+    /**
+     * 매핑된 종목 파일
+     * 컬럼 영역 순서: 날짜(int) / 시가 / 고가 / 저가 / 종가(double) / 거래량 / 거래대금(long)
+     * 용량을 CAPACITY_UNIT 배수로 두어 double/long 영역이 8바이트 경계에 맞도록 함
+     */
+    private static final class MappedFile {
+
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private volatile int count;
+
+        private final int daysOffset;
+        private final int openOffset;
+        private final int highOffset;
+        private final int lowOffset;
+        private final int closeOffset;
+        private final int volumeOffset;
+        private final int tradingValueOffset;
+
+        MappedFile(MappedByteBuffer buffer, int capacity, int count) {
+            this.buffer = buffer;
+            this.capacity = capacity;
+            this.count = count;
+            this.daysOffset = HEADER_SIZE;
+            this.openOffset = daysOffset + capacity * Integer.BYTES;
+            this.highOffset = openOffset + capacity * Double.BYTES;
+            this.lowOffset = highOffset + capacity * Double.BYTES;
+            this.closeOffset = lowOffset + capacity * Double.BYTES;
+            this.volumeOffset = closeOffset + capacity * Double.BYTES;
+            this.tradingValueOffset = volumeOffset + capacity * Long.BYTES;
+        }
+
+        int day(int index) {
+            return buffer.getInt(daysOffset + index * Integer.BYTES);
+        }
+
+        LocalDate lastDate() {
+            int rows = count;
+            return rows > 0 ? LocalDate.ofEpochDay(day(rows - 1)) : null;
+        }
+
+        /**
+         * 꼬리 쓰기: 새 일봉이 파일의 마지막 구간과 날짜가 정확히 겹치거나 그 뒤에만 있고 용량 안이면 그 자리에 씀
+         *
+         * @return 썼으면 true, 다시 써야 하면 false
+         */
+        boolean tryWriteTail(PriceSeries incoming) {
+            if (incoming.isEmpty()) {
+                return true;
+            }
+            int rows = count;
+            int from = lowerBound(incoming.getEpochDay(0), rows);
+            int overlap = rows - from;
+            if (overlap > incoming.size() || from + incoming.size() > capacity) {
+                return false;
+            }
+            for (int i = 0; i < overlap; i++) {
+                if (day(from + i) != incoming.getEpochDay(i)) {
+                    return false;
+                }
+            }
+
+            for (int i = 0; i < incoming.size(); i++) {
+                putRow(from + i, incoming, i);
+            }
+            publishCount(Math.max(rows, from + incoming.size()));
+            return true;
+        }
+
+        void putRow(int index, PriceSeries series, int row) {
+            buffer.putInt(daysOffset + index * Integer.BYTES, series.getEpochDay(row));
+            buffer.putDouble(openOffset + index * Double.BYTES, series.getOpen(row));
+            buffer.putDouble(highOffset + index * Double.BYTES, series.getHigh(row));
+            buffer.putDouble(lowOffset + index * Double.BYTES, series.getLow(row));
+            buffer.putDouble(closeOffset + index * Double.BYTES, series.getClose(row));
+            buffer.putLong(volumeOffset + index * Long.BYTES, series.getVolume(row));
+            buffer.putLong(tradingValueOffset + index * Long.BYTES, series.getTradingValue(row));
+        }
+
+        /**
+         * 행을 모두 쓴 뒤 행 수 갱신 (읽는 쪽은 갱신된 행 수까지만 봄)
+         */
+        void publishCount(int rows) {
+            buffer.putInt(COUNT_OFFSET, rows);
+            count = rows;
+        }
+
+        int lowerBound(int key, int rows) {
+            int low = 0;
+            int high = rows;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (day(mid) < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        PriceSlice slice(Long stockId, LocalDate startDate, LocalDate endDate) {
+            int rows = count;
+            int from = lowerBound((int) startDate.toEpochDay(), rows);
+            int to = lowerBound((int) endDate.toEpochDay() + 1, rows);
+            return slice(stockId, from, Math.max(from, to));
+        }
+
+        PriceSlice slice(Long stockId, int from, int to) {
+            int rows = to - from;
+            return new PriceSlice(stockId, rows,
+                    view(daysOffset, Integer.BYTES, from, rows).asIntBuffer(),
+                    view(openOffset, Double.BYTES, from, rows).asDoubleBuffer(),
+                    view(highOffset, Double.BYTES, from, rows).asDoubleBuffer(),
+                    view(lowOffset, Double.BYTES, from, rows).asDoubleBuffer(),
+                    view(closeOffset, Double.BYTES, from, rows).asDoubleBuffer(),
+                    view(volumeOffset, Long.BYTES, from, rows).asLongBuffer(),
+                    view(tradingValueOffset, Long.BYTES, from, rows).asLongBuffer());
+        }
+
+        private ByteBuffer view(int columnOffset, int width, int from, int rows) {
+            // slice/asReadOnlyBuffer는 바이트 순서를 BIG_ENDIAN으로 되돌리므로 마지막에 지정
+            return buffer.slice(columnOffset + from * width, rows * width).asReadOnlyBuffer().order(BYTE_ORDER);
+        }
+
+        PriceSeries toSeries() {
+            return slice(null, 0, count).toSeries();
+        }
+    }
+
+    /**
+     * 복사 없는 일봉 구간 뷰 (매핑된 파일 영역을 직접 가리킴, 읽기 전용)
+     */
+    public record PriceSlice(Long stockId, int size, IntBuffer days, DoubleBuffer open, DoubleBuffer high,
+                             DoubleBuffer low, DoubleBuffer close, LongBuffer volume, LongBuffer tradingValue) {
+
+        public LocalDate getDate(int index) {
+            return LocalDate.ofEpochDay(days.get(index));
+        }
+
+        /**
+         * 힙 시계열로 복사 (메모리 캐시 적재용)
+         */
+        public PriceSeries toSeries() {
+            PriceSeries.Builder builder = PriceSeries.builder(size);
+            for (int i = 0; i < size; i++) {
+                builder.add(days.get(i), open.get(i), high.get(i), low.get(i), close.get(i),
+                        volume.get(i), tradingValue.get(i));
+            }
+            return builder.build();
+        }
+    }
+}
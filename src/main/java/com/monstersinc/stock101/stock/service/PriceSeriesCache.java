@@ -0,0 +1,312 @@
+package com.monstersinc.stock101.stock.service;
+
+import com.monstersinc.stock101.kis.event.StockPricesInsertedEvent;
+import com.monstersinc.stock101.stock.model.mapper.StockPriceRepository;
+import com.monstersinc.stock101.stock.model.vo.PricePeriod;
+import com.monstersinc.stock101.stock.model.vo.PriceSeries;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.IntSummaryStatistics;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 종목별 일봉 시계열 메모리 캐시 (노드 로컬, LRU)
+ * - 처음 조회할 때 종목 전체 일봉을 컬럼 배열({@link PriceSeries})로 적재하고, 이후 기간 조회는 이진 탐색 + 배열 잘라내기로 처리 (DB 조회 없음)
+ * - 파일 저장소({@link PriceFileStore})를 사용하면 DB 대신 매핑된 파일에서 적재
+ * - 주/월/년봉은 처음 요청할 때 일봉을 묶어서 만들고, 새 일봉이 저장되면 바뀐 구간부터만 다시 계산
+ * - 이 노드에서 저장한 일봉은 커밋 후 바로 병합하고, 다른 노드에는 Redis Pub/Sub으로 바뀐 날짜 범위를 알려 해당 종목을 제거 (다음 조회 때 다시 적재)
+ * - 파일 저장소를 사용하면 제거는 파일 저장소가 그 범위를 DB에서 다시 쓴 뒤에 함 (먼저 제거하면 갱신 전 파일에서 다시 적재될 수 있음)
+ * - 같은 종목의 적재가 동시에 들어오면 한 번만 조회 (single-flight)
+ * - 적재 중에 저장/무효화가 있었으면 적재 결과를 캐시에 넣지 않음 (오래된 시계열이 남지 않도록)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PriceSeriesCache {
+
+    private final StockPriceRepository stockPriceRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectProvider<PriceFileStore> fileStoreProvider;
+
+    @Value("${stock.price.series-cache.max-stocks:500}")
+    private int maxStocks;
+
+    @Value("${stock.price.series-cache.ttl-minutes:360}")
+    private long ttlMinutes;
+
+    static final String INVALIDATE_CHANNEL = "stock:price:series:invalidate";
+    private static final int EXPECTED_ROWS = 1024;
+
+    /**
+     * 노드 식별자 (자기가 보낸 무효화 메시지 무시)
+     */
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+
+    /**
+     * stockId -> 시계열 (접근 순서 LRU, 가상 스레드 고정을 피하기 위해 synchronized 대신 ReentrantLock 사용)
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, CachedSeries> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedSeries> eldest) {
+            return size() > maxStocks;
+        }
+    };
+
+    /**
+     * 진행 중인 적재 (stockId -> 결과)
+     */
+    private final Map<Long, CompletableFuture<PriceSeries>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * 종목별 세대 (저장/무효화마다 증가, 적재 시작 후 바뀌었으면 결과를 캐시하지 않음)
+     * 다른 종목의 저장이 적재 결과를 버리지 않도록 종목마다 따로 셈 (항목 수는 종목 수 이하)
+     */
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            Invalidation invalidation = Invalidation.parse(new String(message.getBody(), StandardCharsets.UTF_8));
+            if (invalidation == null || invalidation.nodeId().equals(nodeId)) {
+                return;
+            }
+            if (fileStoreProvider.getIfAvailable() != null) {
+                return; // 파일 저장소가 파일을 갱신한 뒤 제거
+            }
+            evict(invalidation.stockId());
+        }, new ChannelTopic(INVALIDATE_CHANNEL));
+    }
+
+    /**
+     * 기간 조회
+     */
+    public PriceSeries getRange(Long stockId, LocalDate startDate, LocalDate endDate) {
+        return get(stockId).slice(startDate, endDate);
+    }
+
+    /**
+     * 주기별 기간 조회 (봉 날짜는 구간의 마지막 거래일이므로 종료일이 속한 구간 전체를 포함)
+     */
+    public PriceSeries getRange(Long stockId, LocalDate startDate, LocalDate endDate, PricePeriod period) {
+        return get(stockId, period).slice(startDate, period.bucketEnd(endDate));
+    }
+
+    /**
+     * 종목 전체 주/월/년봉 (캐시에 있는 일봉에서 한 번 계산한 뒤 재사용)
+     */
+    public PriceSeries get(Long stockId, PricePeriod period) {
+        PriceSeries daily = get(stockId);
+        if (period == PricePeriod.D) {
+            return daily;
+        }
+
+        CachedSeries cached;
+        lock.lock();
+        try {
+            cached = entries.get(stockId);
+        } finally {
+            lock.unlock();
+        }
+        if (cached == null || cached.series != daily) {
+            // 적재 중 저장이 있었거나 이미 밀려난 경우: 캐시하지 않고 바로 계산
+            return daily.resample(period);
+        }
+        return cached.rollups.computeIfAbsent(period, daily::resample);
+    }
+
+    /**
+     * 종목 전체 시계열 (없거나 만료되었으면 적재)
+     */
+    public PriceSeries get(Long stockId) {
+        lock.lock();
+        try {
+            CachedSeries cached = entries.get(stockId);
+            if (cached != null && !cached.isExpired(ttlMinutes)) {
+                return cached.series;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return load(stockId);
+    }
+
+    /**
+     * 저장된 일봉 반영 (트랜잭션이 있으면 커밋 후, 없으면 즉시)
+     * 캐시에 있는 종목만 병합하고(계산해 둔 주/월/년봉은 바뀐 구간부터 다시 계산) 다른 노드에는 무효화를 알림
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPricesInserted(StockPricesInsertedEvent event) {
+        if (event.getPrices().isEmpty()) {
+            return;
+        }
+        IntSummaryStatistics changed = event.getPrices().stream()
+                .mapToInt(price -> (int) price.getDatetime().toEpochDay())
+                .summaryStatistics();
+
+        generation(event.getStockId()).incrementAndGet();
+        lock.lock();
+        try {
+            CachedSeries cached = entries.get(event.getStockId());
+            if (cached != null) {
+                PriceSeries merged = cached.series.merge(event.getPrices());
+                int changedFrom = changed.getMin();
+                Map<PricePeriod, PriceSeries> rollups = new ConcurrentHashMap<>();
+                cached.rollups.forEach((period, rollup) ->
+                        rollups.put(period, merged.resample(period, rollup, changedFrom)));
+                entries.put(event.getStockId(), new CachedSeries(merged, cached.loadedAt, rollups));
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            Invalidation invalidation = new Invalidation(nodeId, event.getStockId(),
+                    LocalDate.ofEpochDay(changed.getMin()), LocalDate.ofEpochDay(changed.getMax()));
+            redisTemplate.convertAndSend(INVALIDATE_CHANNEL, invalidation.format());
+        } catch (Exception e) {
+            log.warn("일봉 캐시 무효화 발행 실패: stockId={}, error={}", event.getStockId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 종목 시계열 제거
+     */
+    public void evict(Long stockId) {
+        generation(stockId).incrementAndGet();
+        lock.lock();
+        try {
+            entries.remove(stockId);
+        } finally {
+            lock.unlock();
+        }
+        log.debug("일봉 캐시 제거: stockId={}", stockId);
+    }
+
+    /**
+     * DB에서 종목 전체 일봉 적재 (동시 요청은 한 번만 조회)
+     */
+    private PriceSeries load(Long stockId) {
+        CompletableFuture<PriceSeries> flight = new CompletableFuture<>();
+        CompletableFuture<PriceSeries> existing = loading.putIfAbsent(stockId, flight);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            AtomicLong generation = generation(stockId);
+            long startGeneration = generation.get();
+            PriceSeries series = readSeries(stockId);
+
+            lock.lock();
+            try {
+                if (generation.get() == startGeneration) {
+                    entries.put(stockId, new CachedSeries(series, System.currentTimeMillis(), new ConcurrentHashMap<>()));
+                }
+            } finally {
+                lock.unlock();
+            }
+            log.debug("일봉 캐시 적재: stockId={}, rows={}, bytes={}", stockId, series.size(), series.estimatedBytes());
+
+            flight.complete(series);
+            return series;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(stockId, flight);
+        }
+    }
+
+    /**
+     * 종목 전체 일봉 읽기 (파일 저장소가 있으면 파일에서, 실패하거나 없으면 DB에서)
+     */
+    private PriceSeries readSeries(Long stockId) {
+        PriceFileStore fileStore = fileStoreProvider.getIfAvailable();
+        if (fileStore != null) {
+            try {
+                return fileStore.read(stockId).toSeries();
+            } catch (UncheckedIOException e) {
+                log.warn("일봉 파일 읽기 실패, DB에서 적재: stockId={}, error={}", stockId, e.getMessage());
+            }
+        }
+
+        PriceSeries.Builder builder = PriceSeries.builder(EXPECTED_ROWS);
+        stockPriceRepository.streamByStockIdOrderByDatetimeAsc(stockId,
+                context -> builder.add(context.getResultObject()));
+        return builder.build();
+    }
+
+    private AtomicLong generation(Long stockId) {
+        return generations.computeIfAbsent(stockId, id -> new AtomicLong());
+    }
+
+    private PriceSeries await(CompletableFuture<PriceSeries> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 무효화 메시지: nodeId|stockId|시작 epoch day|종료 epoch day
+     * 날짜 범위가 없는 이전 형식(nodeId|stockId)은 범위를 모르는 것으로 처리 (fromDate/toDate null)
+     */
+    record Invalidation(String nodeId, Long stockId, LocalDate fromDate, LocalDate toDate) {
+
+        String format() {
+            return nodeId + "|" + stockId + "|" + fromDate.toEpochDay() + "|" + toDate.toEpochDay();
+        }
+
+        /**
+         * 메시지 해석 (형식이 맞지 않으면 null)
+         */
+        static Invalidation parse(String body) {
+            String[] parts = body.split("\\|");
+            try {
+                return switch (parts.length) {
+                    case 2 -> new Invalidation(parts[0], Long.valueOf(parts[1]), null, null);
+                    case 4 -> new Invalidation(parts[0], Long.valueOf(parts[1]),
+                            LocalDate.ofEpochDay(Long.parseLong(parts[2])), LocalDate.ofEpochDay(Long.parseLong(parts[3])));
+                    default -> null;
+                };
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * 캐시 항목 (적재 시각 기준으로 만료, 주/월/년봉은 요청된 주기만 계산해 둠)
+     */
+    private record CachedSeries(PriceSeries series, long loadedAt, Map<PricePeriod, PriceSeries> rollups) {
+
+        boolean isExpired(long ttlMinutes) {
+            return System.currentTimeMillis() - loadedAt > ttlMinutes * 60_000;
+        }
+    }
+}
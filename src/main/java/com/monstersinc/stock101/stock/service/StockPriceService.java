@@ -1,37 +1,73 @@
 package com.monstersinc.stock101.stock.service;
 
+import com.monstersinc.stock101.common.calendar.KrxTradingCalendar;
 import com.monstersinc.stock101.kis.dto.UpdateResponse;
+import com.monstersinc.stock101.kis.event.StockPriceUpdateCompletedEvent;
 import com.monstersinc.stock101.kis.service.KisStockPriceService;
 import com.monstersinc.stock101.stock.model.dto.StockPriceResponseDto;
 import com.monstersinc.stock101.stock.model.mapper.StockMapper;
-import com.monstersinc.stock101.stock.model.mapper.StockPriceRepository;
+import com.monstersinc.stock101.stock.model.vo.PricePeriod;
+import com.monstersinc.stock101.stock.model.vo.PriceSampling;
+import com.monstersinc.stock101.stock.model.vo.PriceSeries;
 import com.monstersinc.stock101.stock.model.vo.Stock;
-import com.monstersinc.stock101.stock.model.vo.StockPrice;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
 /**
  * 주식 시세 서비스
- * Redis 캐시를 활용한 일봉 데이터 조회
+ * Redis 캐시를 활용한 일봉 데이터 조회 (일봉 자체는 노드 메모리의 컬럼 시계열 캐시에서 조회)
+ * 주/월/년봉은 저장된 일봉을 묶어서 계산 (KIS 주기별 API는 호출하지 않음)
+ * 저장된 일봉을 바로 반환하고 오늘 시세 갱신은 백그라운드에서 수행 (stale-while-revalidate)
+ * 갱신은 Redis 리스(SET NX PX)를 얻은 호출 하나만 수행하고, 새 일봉이 저장되면 SSE로 알림
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class StockPriceService {
 
-    private final StockPriceRepository stockPriceRepository;
     private final StockMapper stockMapper;
     private final KisStockPriceService kisStockPriceService;
     private final RedisTemplate<String, String> redisTemplate;
+    private final KrxTradingCalendar tradingCalendar;
+    private final StockPriceStreamService stockPriceStreamService;
+    private final PriceSeriesCache priceSeriesCache;
+
+    /**
+     * 백그라운드 갱신 실행기 (KIS 호출 대기 동안 플랫폼 스레드를 점유하지 않도록 가상 스레드 사용)
+     * 리스를 얻은 호출만 제출하므로 동시 실행 수는 갱신이 필요한 종목 수를 넘지 않음
+     */
+    private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${stock.price.refresh-lease-ms:30000}")
+    private long refreshLeaseMs;
 
     private static final String REDIS_KEY_PREFIX = "stock:price:lastUpdate:";
+    private static final String REFRESH_LEASE_KEY_PREFIX = "stock:price:refresh-lease:";
+
+    /**
+     * 리스 해제: 내가 얻은 리스일 때만 삭제 (만료 후 다른 호출이 얻은 리스를 지우지 않도록)
+     */
+    private static final DefaultRedisScript<Long> RELEASE_LEASE_SCRIPT = new DefaultRedisScript<>("""
+        if redis.call('GET', KEYS[1]) == ARGV[1] then
+            return redis.call('DEL', KEYS[1])
+        end
+        return 0
+        """, Long.class);
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE;
 
     /**
@@ -43,16 +79,32 @@ public class StockPriceService {
      * @return 일봉 데이터 응답
      */
     public StockPriceResponseDto getDailyPrices(String stockCode, int days) {
+        return getDailyPrices(stockCode, days, PricePeriod.D, null, PriceSampling.OHLC);
+    }
+
+    /**
+     * 종목의 주기별 봉 데이터 조회 (최근 N일)
+     *
+     * @param stockCode 종목코드 (6자리)
+     * @param days 조회할 일수
+     * @param period 봉 주기 (D/W/M/Y)
+     * @param maxPoints 최대 봉 개수 (null이면 축소하지 않음)
+     * @param sampling 축소 방식
+     * @return 봉 데이터 응답
+     */
+    public StockPriceResponseDto getDailyPrices(String stockCode, int days, PricePeriod period,
+                                                Integer maxPoints, PriceSampling sampling) {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusDays(days);
-        return getDailyPrices(stockCode, startDate, endDate);
+        return getDailyPrices(stockCode, startDate, endDate, period, maxPoints, sampling);
     }
 
     /**
      * 종목의 일봉 데이터 조회 (기간별)
      * - Redis에서 최종 업데이트 일자 확인
-     * - 종료일이 오늘이고, 아직 업데이트 안 했으면 KIS API에서 최신 데이터 fetch 후 DB 저장
-     * - DB에서 일봉 데이터 조회 후 반환
+     * - 종료일이 오늘이고, 아직 업데이트 안 했으면 백그라운드에서 KIS API 최신 데이터 fetch 후 DB 저장
+     * - 갱신을 기다리지 않고 DB에서 일봉 데이터 조회 후 반환
+     *   (refreshing=true면 갱신 중이므로 SSE "updated" 이벤트를 받거나 version이 바뀌면 다시 조회)
      *
      * @param stockCode 종목코드 (6자리)
      * @param startDate 시작일
@@ -60,6 +112,25 @@ public class StockPriceService {
      * @return 일봉 데이터 응답
      */
     public StockPriceResponseDto getDailyPrices(String stockCode, LocalDate startDate, LocalDate endDate) {
+        return getDailyPrices(stockCode, startDate, endDate, PricePeriod.D, null, PriceSampling.OHLC);
+    }
+
+    /**
+     * 종목의 주기별 봉 데이터 조회 (기간별)
+     * 갱신/버전 처리는 일봉과 같고, 주/월/년봉은 메모리 시계열에서 묶어 둔 봉을 잘라서 반환
+     * (봉 날짜는 구간의 마지막 거래일, 종료일이 속한 구간은 전체 포함)
+     * maxPoints를 주면 차트 폭에 맞게 봉 개수를 줄여서 반환 (기간이 길어도 응답 크기/직렬화 시간이 일정)
+     *
+     * @param stockCode 종목코드 (6자리)
+     * @param startDate 시작일
+     * @param endDate 종료일
+     * @param period 봉 주기 (D/W/M/Y)
+     * @param maxPoints 최대 봉 개수 (null이면 축소하지 않음)
+     * @param sampling 축소 방식 (OHLC 묶음 또는 LTTB)
+     * @return 봉 데이터 응답
+     */
+    public StockPriceResponseDto getDailyPrices(String stockCode, LocalDate startDate, LocalDate endDate,
+                                                PricePeriod period, Integer maxPoints, PriceSampling sampling) {
         // 1. 종목 정보 조회
         Stock stock = stockMapper.selectStockByCode(stockCode);
         if (stock == null) {
@@ -69,72 +140,178 @@ public class StockPriceService {
         Long stockId = stock.getStockId();
         LocalDate today = LocalDate.now();
 
-        // 2. 종료일이 오늘 이후면 업데이트 체크
+        // 2. 종료일이 오늘 이후면 업데이트 체크 (백그라운드 갱신, 기다리지 않음)
+        LocalDate lastUpdate = getLastUpdateDate(stockCode);
+        boolean refreshing = false;
         if (endDate.isEqual(today) || endDate.isAfter(today)) {
-            refreshTodayPriceIfNeeded(stockCode);
+            refreshing = refreshTodayPriceInBackground(stockCode, lastUpdate);
         }
 
-        // 3. DB에서 기간별 데이터 조회
-        List<StockPrice> prices = stockPriceRepository.findByStockIdAndDatetimeBetweenOrderByDatetimeAsc(
-                stockId, startDate, endDate);
+        // 3. 메모리 시계열에서 기간별 데이터 조회 (처음 조회 시 DB에서 적재, 주/월/년봉은 일봉을 묶어서 계산)
+        PriceSeries prices = priceSeriesCache.getRange(stockId, startDate, endDate, period);
 
         // 4. 최종 업데이트 일자
-        LocalDate actualLastUpdate = prices.isEmpty() ? null : prices.get(prices.size() - 1).getDatetime();
+        LocalDate actualLastUpdate = prices.lastDate();
 
-        return StockPriceResponseDto.of(
+        // 5. 차트용 축소 (응답 DTO를 만들기 전에 줄여서 변환/직렬화 비용도 maxPoints에 비례)
+        int originalCount = prices.size();
+        if (maxPoints != null && maxPoints > 0 && originalCount > maxPoints) {
+            prices = sampling.apply(prices, maxPoints);
+        }
+
+        StockPriceResponseDto response = StockPriceResponseDto.of(
                 stockCode,
                 stock.getName(),
                 actualLastUpdate,
                 prices
         );
+        response.setPeriod(period);
+        if (prices.size() < originalCount) {
+            response.setOriginalCount(originalCount);
+        }
+        response.setRefreshing(refreshing);
+        response.setVersion(toVersion(lastUpdate));
+        return response;
     }
 
     /**
-     * 오늘 주가 데이터 업데이트 (Redis 캐시 체크)
+     * 오늘 주가 데이터 백그라운드 갱신 (Redis 캐시 체크, 요청 스레드는 기다리지 않음)
      * - Redis에서 최종 업데이트 일자 확인
-     * - 오늘 아직 업데이트 안 했으면 KIS API 호출 (DB 최신 날짜 기준으로 증분 업데이트)
+     * - 가장 최근 거래일 이후 아직 업데이트 안 했으면 갱신 리스를 얻고 백그라운드에서 KIS API 호출
+     * - 주말/휴장일/개장 전에는 직전 거래일 이후 업데이트했으면 호출하지 않음
+     * - 클러스터 전체에서 갱신 리스를 얻은 호출 하나만 갱신을 시작하고, 나머지는 저장된 일봉을 그대로 사용
+     *
+     * @return 갱신이 필요해 진행 중이면 true (이 호출이 시작했는지와 무관)
      */
-    private void refreshTodayPriceIfNeeded(String stockCode) {
-        LocalDate today = LocalDate.now();
-        String redisKey = REDIS_KEY_PREFIX + stockCode;
-        String lastUpdateStr = redisTemplate.opsForValue().get(redisKey);
-        LocalDate lastUpdate = (lastUpdateStr != null) ? LocalDate.parse(lastUpdateStr, DATE_FORMAT) : null;
-
+    private boolean refreshTodayPriceInBackground(String stockCode, LocalDate lastUpdate) {
         log.debug("종목 {} 최종 업데이트 일자: {}", stockCode, lastUpdate);
 
-        if (lastUpdate != null && !lastUpdate.isBefore(today)) {
-            log.debug("종목 {} 오늘 이미 업데이트됨, 캐시 사용", stockCode);
-            return;
+        if (!needsUpdate(lastUpdate)) {
+            log.debug("종목 {} 최근 거래일 이후 이미 업데이트됨, 캐시 사용", stockCode);
+            return false;
+        }
+
+        // 갱신 리스 획득 (다른 노드/요청이 갱신 중이면 저장된 일봉 반환)
+        String leaseKey = REFRESH_LEASE_KEY_PREFIX + stockCode;
+        String leaseToken = UUID.randomUUID().toString();
+        Boolean leased = redisTemplate.opsForValue()
+                .setIfAbsent(leaseKey, leaseToken, refreshLeaseMs, TimeUnit.MILLISECONDS);
+        if (!Boolean.TRUE.equals(leased)) {
+            log.debug("종목 {} 다른 요청이 갱신 중, 저장된 데이터 사용", stockCode);
+            return true;
         }
 
         try {
+            refreshExecutor.execute(() -> refreshTodayPrice(stockCode, leaseKey, leaseToken));
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+            redisTemplate.execute(RELEASE_LEASE_SCRIPT, List.of(leaseKey), leaseToken);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 리스를 얻은 호출의 실제 갱신 (백그라운드 스레드)
+     * 동기 처리되면 최종 업데이트 일자를 갱신하고, 새 일봉을 저장했으면 구독 중인 클라이언트에게 알림
+     */
+    private void refreshTodayPrice(String stockCode, String leaseKey, String leaseToken) {
+        String redisKey = REDIS_KEY_PREFIX + stockCode;
+        boolean releaseLease = true;
+        try {
+            // 리스를 얻기 직전에 다른 호출이 갱신을 마쳤을 수 있으므로 재확인
+            if (!needsUpdate(getLastUpdateDate(stockCode))) {
+                return;
+            }
+
             log.info("📈 종목 {} 오늘 데이터 업데이트 시작", stockCode);
             UpdateResponse response = kisStockPriceService.updateStockPrices(stockCode);
 
-            // 동기 처리된 경우에만 즉시 캐시 갱신
-            if (!response.isAsync() && response.getSavedCount() != null && response.getSavedCount() > 0) {
-                redisTemplate.opsForValue().set(redisKey, today.format(DATE_FORMAT), 1, TimeUnit.DAYS);
-                log.info("✅ 종목 {} 업데이트 완료 (동기), Redis 캐시 갱신", stockCode);
+            // 동기 처리된 경우 즉시 캐시 갱신
+            // 저장할 일봉이 없었어도(이미 최신) 최종 업데이트 일자는 기록해야 다음 요청이 갱신을 반복하지 않음
+            if (!response.isAsync() && response.getSavedCount() != null && response.getSavedCount() >= 0) {
+                String version = LocalDate.now().format(DATE_FORMAT);
+                redisTemplate.opsForValue().set(redisKey, version, 1, TimeUnit.DAYS);
+                if (response.getSavedCount() > 0) {
+                    stockPriceStreamService.publishUpdated(stockCode, version);
+                    log.info("✅ 종목 {} 업데이트 완료 (동기), Redis 캐시 갱신", stockCode);
+                } else {
+                    log.info("✅ 종목 {} 이미 최신, Redis 캐시 갱신", stockCode);
+                }
             } else if (response.isAsync()) {
                 log.info("⏳ 종목 {} 비동기 처리 중 (requestId: {})", stockCode, response.getRequestId());
                 // 비동기인 경우 캐시는 갱신하지 않음 (Worker 완료 후 갱신 필요)
+                // 리스는 만료될 때까지 유지하여 같은 요청이 반복해서 Queue에 들어가지 않게 함
+                releaseLease = false;
             }
 
         } catch (Exception e) {
             log.error("종목 {} 업데이트 실패: {}", stockCode, e.getMessage());
             // 업데이트 실패해도 기존 데이터는 조회 가능하게 함
+        } finally {
+            if (releaseLease) {
+                redisTemplate.execute(RELEASE_LEASE_SCRIPT, List.of(leaseKey), leaseToken);
+            }
+        }
+    }
+
+    /**
+     * Queue로 넘어간 갱신의 완료 처리 (Worker 노드에서 실행)
+     * 최근 거래일까지 받은 요청이 끝나면 동기 처리와 같이 최종 업데이트 일자를 갱신하고, 새 일봉을 저장했으면 구독 중인 클라이언트에게 알림
+     * (과거 구간 백필/누락 복구 완료는 최종 업데이트 일자와 무관하므로 무시)
+     */
+    @EventListener
+    public void onUpdateCompleted(StockPriceUpdateCompletedEvent event) {
+        if (event.getEndDate() == null || event.getEndDate().isBefore(tradingCalendar.latestSessionDate())) {
+            return;
+        }
+        String version = LocalDate.now().format(DATE_FORMAT);
+        redisTemplate.opsForValue().set(REDIS_KEY_PREFIX + event.getStockCode(), version, 1, TimeUnit.DAYS);
+        if (event.getSavedCount() > 0) {
+            stockPriceStreamService.publishUpdated(event.getStockCode(), version);
         }
+        log.info("✅ 종목 {} 업데이트 완료 (비동기, 저장 {}건), Redis 캐시 갱신", event.getStockCode(), event.getSavedCount());
     }
 
     /**
-     * Redis 캐시 강제 무효화 (관리자용)
+     * 종료 시 진행 중인 갱신 정리
+     */
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdown();
+    }
+
+    /**
+     * Redis 캐시 및 메모리 일봉 시계열 강제 무효화 (관리자용)
      */
     public void invalidateCache(String stockCode) {
         String redisKey = REDIS_KEY_PREFIX + stockCode;
         redisTemplate.delete(redisKey);
+        Stock stock = stockMapper.selectStockByCode(stockCode);
+        if (stock != null) {
+            priceSeriesCache.evict(stock.getStockId());
+        }
         log.info("종목 {} 캐시 무효화 완료", stockCode);
     }
 
+    /**
+     * 최종 업데이트 일자가 가장 최근 거래일보다 이전인지
+     */
+    public boolean needsUpdate(LocalDate lastUpdate) {
+        return lastUpdate == null || lastUpdate.isBefore(tradingCalendar.latestSessionDate());
+    }
+
+    /**
+     * 현재 데이터 버전 (최종 업데이트 일자, 업데이트한 적 없으면 null)
+     */
+    public String getVersion(String stockCode) {
+        return toVersion(getLastUpdateDate(stockCode));
+    }
+
+    private static String toVersion(LocalDate lastUpdate) {
+        return lastUpdate != null ? lastUpdate.format(DATE_FORMAT) : null;
+    }
+
     /**
      * 캐시 상태 확인
      */
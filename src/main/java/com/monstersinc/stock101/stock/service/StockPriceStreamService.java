@@ -0,0 +1,96 @@
+package com.monstersinc.stock101.stock.service;
+
+import com.monstersinc.stock101.notification.service.SseEmitterService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 일봉 갱신 알림 (SSE)
+ * 백그라운드 갱신으로 새 일봉이 저장되면 해당 종목을 구독 중인 클라이언트에게 "updated" 이벤트 전송
+ * 갱신은 리스를 얻은 한 노드에서만 실행되므로 Redis Pub/Sub으로 모든 노드에 전파
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockPriceStreamService {
+
+    private final SseEmitterService sseEmitterService;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${stock.price.stream-timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    private static final String UPDATED_CHANNEL = "stock:price:updated";
+    private static final String TOPIC_PREFIX = "stock:price:";
+    private static final String EVENT_NAME = "updated";
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            int separator = body.indexOf('|');
+            if (separator > 0) {
+                relay(body.substring(0, separator), body.substring(separator + 1));
+            }
+        }, new ChannelTopic(UPDATED_CHANNEL));
+    }
+
+    /**
+     * 종목 일봉 갱신 구독
+     * "connected" 이벤트에 현재 버전을 담아, 조회 응답과 구독 사이에 끝난 갱신도 버전 비교로 알 수 있게 함
+     * (버전은 구독 등록 후에 읽으므로 그 뒤에 끝난 갱신은 "updated" 이벤트로 받음)
+     *
+     * @param stockCode      종목코드
+     * @param currentVersion 현재 데이터 버전 조회 (최종 업데이트 일자, 없으면 null)
+     * @return SSE 연결
+     */
+    public SseEmitter subscribe(String stockCode, Supplier<String> currentVersion) {
+        SseEmitter emitter = sseEmitterService.createTopicEmitter(TOPIC_PREFIX + stockCode, streamTimeoutMs);
+        try {
+            Map<String, Object> data = new HashMap<>();
+            data.put("stockCode", stockCode);
+            data.put("version", currentVersion.get());
+            emitter.send(SseEmitter.event()
+                    .name("connected")
+                    .data(data));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * 새 일봉 저장 알림 발행 (발행 실패는 갱신에 영향을 주지 않음)
+     *
+     * @param stockCode 종목코드
+     * @param version   갱신 후 데이터 버전 (최종 업데이트 일자)
+     */
+    public void publishUpdated(String stockCode, String version) {
+        try {
+            redisTemplate.convertAndSend(UPDATED_CHANNEL, stockCode + "|" + version);
+        } catch (Exception e) {
+            log.debug("일봉 갱신 알림 발행 실패: stockCode={}, error={}", stockCode, e.getMessage());
+        }
+    }
+
+    private void relay(String stockCode, String version) {
+        String topic = TOPIC_PREFIX + stockCode;
+        if (sseEmitterService.hasTopicSubscribers(topic)) {
+            sseEmitterService.sendToTopic(topic, EVENT_NAME, Map.of("stockCode", stockCode, "version", version));
+        }
+    }
+}
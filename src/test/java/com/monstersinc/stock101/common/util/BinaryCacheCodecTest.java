@@ -0,0 +1,65 @@
+package com.monstersinc.stock101.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryCacheCodecTest {
+
+    private static byte[] sampleBody() {
+        BinaryCacheCodec.Writer writer = new BinaryCacheCodec.Writer(16);
+        for (int i = 0; i < 500; i++) {
+            writer.writeSignedVarLong(i % 7 - 3);
+            writer.writeString("row" + (i % 10));
+        }
+        return writer.toByteArray();
+    }
+
+    @Test
+    void rawRoundTrip() {
+        byte[] body = sampleBody();
+        byte[] framed = BinaryCacheCodec.frame(body, false);
+
+        assertThat(framed[0]).isEqualTo(BinaryCacheCodec.FORMAT_RAW);
+        assertThat(BinaryCacheCodec.unframe(framed)).isEqualTo(body);
+    }
+
+    @Test
+    void deflateRoundTrip() {
+        byte[] body = sampleBody();
+        byte[] framed = BinaryCacheCodec.frame(body, true);
+
+        assertThat(framed[0]).isEqualTo(BinaryCacheCodec.FORMAT_DEFLATE);
+        assertThat(framed.length).isLessThan(body.length);
+        assertThat(BinaryCacheCodec.unframe(framed)).isEqualTo(body);
+    }
+
+    @Test
+    void truncatedDeflateValueFailsInsteadOfSpinning() {
+        byte[] framed = BinaryCacheCodec.frame(sampleBody(), true);
+        byte[] truncated = Arrays.copyOf(framed, framed.length / 2);
+
+        assertThatThrownBy(() -> BinaryCacheCodec.unframe(truncated))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void varLongAndStringRoundTrip() {
+        BinaryCacheCodec.Writer writer = new BinaryCacheCodec.Writer(1);
+        writer.writeVarLong(Long.MAX_VALUE);
+        writer.writeSignedVarLong(-12345L);
+        writer.writeString(null);
+        writer.writeString("삼성전자");
+        writer.writeBoolean(true);
+
+        BinaryCacheCodec.Reader reader = new BinaryCacheCodec.Reader(writer.toByteArray());
+        assertThat(reader.readVarLong()).isEqualTo(Long.MAX_VALUE);
+        assertThat(reader.readSignedVarLong()).isEqualTo(-12345L);
+        assertThat(reader.readString()).isNull();
+        assertThat(reader.readString()).isEqualTo("삼성전자");
+        assertThat(reader.readBoolean()).isTrue();
+    }
+}
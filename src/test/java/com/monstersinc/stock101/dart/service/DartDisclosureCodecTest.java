@@ -0,0 +1,98 @@
+package com.monstersinc.stock101.dart.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monstersinc.stock101.common.util.BinaryCacheCodec;
+import com.monstersinc.stock101.dart.dto.DartDisclosureResponse;
+import com.monstersinc.stock101.dart.dto.DartDisclosureResponse.DartDisclosure;
+import com.monstersinc.stock101.kis.service.CodecBenchmark;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DartDisclosureCodecTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final List<String> REPORT_NAMES = List.of(
+            "분기보고서 (2024.09)",
+            "주요사항보고서(자기주식취득결정)",
+            "임원ㆍ주요주주특정증권등소유상황보고서",
+            "기업설명회(IR)개최(안내공시)",
+            "현금ㆍ현물배당결정",
+            "[기재정정]주요사항보고서(자기주식취득결정)",
+            "연결재무제표기준영업(잠정)실적(공정공시)",
+            "최대주주등소유주식변동신고서");
+
+    /**
+     * 공시 목록 한 페이지 (100건, 한 기업)
+     */
+    static DartDisclosureResponse samplePage() {
+        List<DartDisclosure> rows = new ArrayList<>();
+        LocalDate date = LocalDate.of(2024, 12, 27);
+        for (int i = 0; i < 100; i++) {
+            String receiptDate = date.format(DateTimeFormatter.BASIC_ISO_DATE);
+            rows.add(DartDisclosure.builder()
+                    .corpCode("00126380")
+                    .corpName("삼성전자")
+                    .reportNm(REPORT_NAMES.get(i % REPORT_NAMES.size()))
+                    .rceptNo(receiptDate + String.format("%06d", 800_000 + i * 37))
+                    .rceptDt(receiptDate)
+                    .pblntfTy(i % 3 == 0 ? "A" : i % 3 == 1 ? "B" : "I")
+                    .build());
+            if (i % 2 == 1) {
+                date = date.minusDays(3);
+            }
+        }
+        return DartDisclosureResponse.builder()
+                .status("000")
+                .message("정상")
+                .totalCount(1523)
+                .totalPage(16)
+                .pageNo(1)
+                .pageCount(100)
+                .list(rows)
+                .build();
+    }
+
+    @Test
+    void roundTrip() {
+        DartDisclosureResponse response = samplePage();
+
+        assertThat(DartDisclosureCodec.decode(DartDisclosureCodec.encode(response))).isEqualTo(response);
+    }
+
+    @Test
+    void nullListRoundTrip() {
+        DartDisclosureResponse response = DartDisclosureResponse.builder().status("013").message("조회된 데이타가 없습니다.").build();
+
+        assertThat(DartDisclosureCodec.decode(DartDisclosureCodec.encode(response))).isEqualTo(response);
+    }
+
+    /**
+     * Redis에 저장되는 크기와 복원 시간을 예전 JSON 값과 비교 (결과는 표준 출력)
+     */
+    @Test
+    void reportsSizeAndDecodeTimeAgainstJson() throws Exception {
+        DartDisclosureResponse response = samplePage();
+        byte[] json = OBJECT_MAPPER.writeValueAsBytes(response);
+        byte[] raw = BinaryCacheCodec.frame(DartDisclosureCodec.encode(response), false);
+        byte[] deflated = BinaryCacheCodec.frame(DartDisclosureCodec.encode(response), true);
+
+        assertThat(raw.length).isLessThan(json.length);
+        assertThat(deflated.length).isLessThan(raw.length);
+        assertThat(DartDisclosureCodec.decode(BinaryCacheCodec.unframe(deflated))).isEqualTo(response);
+
+        double jsonMicros = CodecBenchmark.averageMicros(() -> OBJECT_MAPPER.readValue(json, DartDisclosureResponse.class));
+        double rawMicros = CodecBenchmark.averageMicros(() -> DartDisclosureCodec.decode(BinaryCacheCodec.unframe(raw)));
+        double deflatedMicros = CodecBenchmark.averageMicros(
+                () -> DartDisclosureCodec.decode(BinaryCacheCodec.unframe(deflated)));
+
+        CodecBenchmark.print("DART 공시 100건", json.length, jsonMicros, raw.length, rawMicros,
+                deflated.length, deflatedMicros);
+    }
+}
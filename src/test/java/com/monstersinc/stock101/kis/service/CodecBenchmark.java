@@ -0,0 +1,43 @@
+package com.monstersinc.stock101.kis.service;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 캐시 값 인코딩 비교용 간단한 측정 (워밍업 후 평균 시간)
+ * JMH만큼 정밀하지 않으므로 같은 JVM에서 방식 간 상대 비교용으로만 사용
+ */
+public final class CodecBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5_000;
+    private static final int MEASURE_ITERATIONS = 20_000;
+
+    private CodecBenchmark() {}
+
+    /**
+     * 한 번 실행하는 데 걸린 평균 시간 (마이크로초)
+     */
+    public static double averageMicros(Callable<?> task) throws Exception {
+        Object sink = null;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink = task.call();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            sink = task.call();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == null) {
+            throw new IllegalStateException("결과 없음");
+        }
+        return elapsed / 1_000.0 / MEASURE_ITERATIONS;
+    }
+
+    public static void print(String name, int jsonBytes, double jsonMicros, int rawBytes, double rawMicros,
+                             int deflatedBytes, double deflatedMicros) {
+        System.out.printf("[%s] JSON %,d B / %.1f µs, binary %,d B (%.0f%%) / %.1f µs, binary+deflate %,d B (%.0f%%) / %.1f µs%n",
+                name,
+                jsonBytes, jsonMicros,
+                rawBytes, rawBytes * 100.0 / jsonBytes, rawMicros,
+                deflatedBytes, deflatedBytes * 100.0 / jsonBytes, deflatedMicros);
+    }
+}
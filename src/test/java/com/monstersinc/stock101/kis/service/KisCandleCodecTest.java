@@ -0,0 +1,95 @@
+package com.monstersinc.stock101.kis.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monstersinc.stock101.common.util.BinaryCacheCodec;
+import com.monstersinc.stock101.kis.dto.KisCandleResponse;
+import com.monstersinc.stock101.kis.dto.KisCandleResponse.KisCandleData;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KisCandleCodecTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /**
+     * 일봉 100개짜리 응답 (KIS 한 번 호출 분량, 삼성전자 수준의 가격/거래량)
+     */
+    static KisCandleResponse sampleResponse() {
+        Random random = new Random(42);
+        List<KisCandleData> rows = new ArrayList<>();
+        LocalDate date = LocalDate.of(2024, 12, 30);
+        long previousClose = 71_000;
+        for (int i = 0; i < 100; i++) {
+            long open = previousClose + (random.nextInt(21) - 10) * 100;
+            long close = open + (random.nextInt(41) - 20) * 100;
+            long high = Math.max(open, close) + random.nextInt(10) * 100;
+            long low = Math.min(open, close) - random.nextInt(10) * 100;
+            long volume = 8_000_000 + random.nextInt(12_000_000);
+            long change = close - previousClose;
+            rows.add(new KisCandleData(
+                    date.format(DateTimeFormatter.BASIC_ISO_DATE),
+                    Long.toString(open),
+                    Long.toString(high),
+                    Long.toString(low),
+                    Long.toString(close),
+                    Long.toString(volume),
+                    Long.toString(volume * close),
+                    "00",
+                    change > 0 ? "2" : change < 0 ? "5" : "3",
+                    Long.toString(change),
+                    String.format("%.2f", change * 100.0 / previousClose)));
+            previousClose = close;
+            date = date.minusDays(date.getDayOfWeek().getValue() == 1 ? 3 : 1);
+        }
+        return new KisCandleResponse("0", "MCA00000", "정상처리 되었습니다.",
+                new KisCandleResponse.OutputHeader("", "", "", "-300", "5", "-0.42", "71000"), rows);
+    }
+
+    @Test
+    void numericRoundTrip() {
+        KisCandleResponse response = sampleResponse();
+
+        assertThat(KisCandleCodec.decode(KisCandleCodec.encode(response))).isEqualTo(response);
+    }
+
+    @Test
+    void nonNumericValuesFallBackToStringColumns() {
+        KisCandleResponse response = sampleResponse();
+        response.getOutput2().get(3).setStckOprc("0070100");
+        response.getOutput2().get(5).setAcmlVol(null);
+
+        assertThat(KisCandleCodec.decode(KisCandleCodec.encode(response))).isEqualTo(response);
+    }
+
+    /**
+     * Redis에 저장되는 크기와 복원 시간을 예전 JSON 값과 비교 (결과는 표준 출력)
+     */
+    @Test
+    void reportsSizeAndDecodeTimeAgainstJson() throws Exception {
+        KisCandleResponse response = sampleResponse();
+        byte[] json = OBJECT_MAPPER.writeValueAsBytes(response);
+        byte[] raw = BinaryCacheCodec.frame(KisCandleCodec.encode(response), false);
+        byte[] deflated = BinaryCacheCodec.frame(KisCandleCodec.encode(response), true);
+
+        assertThat(raw.length).isLessThan(json.length);
+        assertThat(deflated.length).isLessThan(raw.length);
+        assertThat(KisCandleCodec.decode(BinaryCacheCodec.unframe(deflated))).isEqualTo(response);
+
+        double jsonMicros = CodecBenchmark.averageMicros(() -> OBJECT_MAPPER.readValue(json, KisCandleResponse.class));
+        double rawMicros = CodecBenchmark.averageMicros(() -> KisCandleCodec.decode(BinaryCacheCodec.unframe(raw)));
+        double deflatedMicros = CodecBenchmark.averageMicros(
+                () -> KisCandleCodec.decode(BinaryCacheCodec.unframe(deflated)));
+
+        CodecBenchmark.print("KIS 일봉 100개", json.length, jsonMicros, raw.length, rawMicros,
+                deflated.length, deflatedMicros);
+    }
+}
@@ -0,0 +1,47 @@
+package com.monstersinc.stock101.stock.model.vo;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PricePeriodTest {
+
+    @Test
+    void epochDayBucketStartMatchesLocalDate() {
+        // 1970-01-01 이전(음수 epoch day)도 포함
+        LocalDate from = LocalDate.of(1960, 1, 1);
+        LocalDate to = LocalDate.of(1980, 12, 31);
+        for (PricePeriod period : PricePeriod.values()) {
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                int epochDay = (int) date.toEpochDay();
+                assertThat(period.bucketStart(epochDay))
+                        .as("%s %s", period, date)
+                        .isEqualTo((int) period.bucketStart(date).toEpochDay());
+            }
+        }
+    }
+
+    @Test
+    void weekRunsFromMondayToSunday() {
+        LocalDate wednesday = LocalDate.of(2024, 5, 15);
+
+        assertThat(PricePeriod.W.bucketStart(wednesday)).isEqualTo(LocalDate.of(2024, 5, 13));
+        assertThat(PricePeriod.W.bucketEnd(wednesday)).isEqualTo(LocalDate.of(2024, 5, 19));
+        assertThat(PricePeriod.W.bucketStart(wednesday).getDayOfWeek()).isEqualTo(DayOfWeek.MONDAY);
+    }
+
+    @Test
+    void monthAndYearBounds() {
+        LocalDate date = LocalDate.of(2024, 2, 10);
+
+        assertThat(PricePeriod.M.bucketStart(date)).isEqualTo(LocalDate.of(2024, 2, 1));
+        assertThat(PricePeriod.M.bucketEnd(date)).isEqualTo(LocalDate.of(2024, 2, 29));
+        assertThat(PricePeriod.Y.bucketStart(date)).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(PricePeriod.Y.bucketEnd(date)).isEqualTo(LocalDate.of(2024, 12, 31));
+        assertThat(PricePeriod.D.bucketStart(date)).isEqualTo(date);
+        assertThat(PricePeriod.D.bucketEnd(date)).isEqualTo(date);
+    }
+}
@@ -0,0 +1,236 @@
+package com.monstersinc.stock101.stock.model.vo;
+
+import com.monstersinc.stock101.stock.model.dto.StockPriceResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceSeriesTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private static StockPrice price(LocalDate date, double close) {
+        return StockPrice.builder()
+                .datetime(date)
+                .stckOprc(close - 1)
+                .stckHgpr(close + 2)
+                .stckLwpr(close - 2)
+                .stckClpr(close)
+                .acmlVol(100.0)
+                .acmlTrPbmn(1000.0)
+                .build();
+    }
+
+    /**
+     * START부터 하루 간격으로 count개 (종가 = 100 + 순번)
+     */
+    private static List<StockPrice> daily(int count) {
+        List<StockPrice> prices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            prices.add(price(START.plusDays(i), 100 + i));
+        }
+        return prices;
+    }
+
+    @Test
+    void ofSortsByDateAndKeepsLastValueForSameDate() {
+        PriceSeries series = PriceSeries.of(List.of(
+                price(START.plusDays(2), 3),
+                price(START, 1),
+                price(START.plusDays(1), 2),
+                price(START, 10)));
+
+        assertThat(series.size()).isEqualTo(3);
+        assertThat(series.firstDate()).isEqualTo(START);
+        assertThat(series.lastDate()).isEqualTo(START.plusDays(2));
+        assertThat(series.getClose(0)).isEqualTo(10);
+        assertThat(series.getClose(1)).isEqualTo(2);
+    }
+
+    @Test
+    void mergeReplacesSameDateAndInsertsNewDates() {
+        PriceSeries series = PriceSeries.of(daily(5));
+
+        PriceSeries merged = series.merge(List.of(
+                price(START.plusDays(2), 999),
+                price(START.plusDays(10), 500),
+                price(START.minusDays(1), 50)));
+
+        assertThat(merged.size()).isEqualTo(7);
+        assertThat(merged.firstDate()).isEqualTo(START.minusDays(1));
+        assertThat(merged.lastDate()).isEqualTo(START.plusDays(10));
+        assertThat(merged.getClose(3)).isEqualTo(999);
+        // 원본은 바뀌지 않음
+        assertThat(series.size()).isEqualTo(5);
+        assertThat(series.getClose(2)).isEqualTo(102);
+    }
+
+    @Test
+    void sliceAndTail() {
+        PriceSeries series = PriceSeries.of(daily(10));
+
+        PriceSeries slice = series.slice(START.plusDays(3), START.plusDays(5));
+        assertThat(slice.size()).isEqualTo(3);
+        assertThat(slice.firstDate()).isEqualTo(START.plusDays(3));
+        assertThat(slice.getClose(2)).isEqualTo(105);
+
+        assertThat(series.slice(START.minusDays(10), START.plusDays(100))).isSameAs(series);
+        assertThat(series.slice(START.plusDays(20), START.plusDays(30)).isEmpty()).isTrue();
+
+        PriceSeries tail = series.tail(4);
+        assertThat(tail.size()).isEqualTo(4);
+        assertThat(tail.firstDate()).isEqualTo(START.plusDays(6));
+    }
+
+    @Test
+    void missingValuesStayMissing() {
+        StockPrice empty = StockPrice.builder().datetime(START).build();
+        PriceSeries series = PriceSeries.of(List.of(empty, price(START.plusDays(1), 100)));
+
+        assertThat(series.getOpen(0)).isNaN();
+        assertThat(series.getClose(0)).isNaN();
+        assertThat(series.getVolume(0)).isEqualTo(PriceSeries.NO_AMOUNT);
+
+        StockPriceResponseDto.DailyPrice row = StockPriceResponseDto.of("005930", "삼성전자", START, series)
+                .getPrices().get(0);
+        assertThat(row.getOpen()).isNull();
+        assertThat(row.getHigh()).isNull();
+        assertThat(row.getLow()).isNull();
+        assertThat(row.getClose()).isNull();
+        assertThat(row.getVolume()).isNull();
+        assertThat(row.getTradingValue()).isNull();
+    }
+
+    @Test
+    void resampleWeekly() {
+        // 2024-01-01은 월요일: 14일 = 정확히 2주
+        PriceSeries weekly = PriceSeries.of(daily(14)).resample(PricePeriod.W);
+
+        assertThat(weekly.size()).isEqualTo(2);
+        assertThat(weekly.getDate(0)).isEqualTo(START.plusDays(6));
+        assertThat(weekly.getOpen(0)).isEqualTo(99);   // 첫 시가
+        assertThat(weekly.getHigh(0)).isEqualTo(108);  // 최고 고가
+        assertThat(weekly.getLow(0)).isEqualTo(98);    // 최저 저가
+        assertThat(weekly.getClose(0)).isEqualTo(106); // 마지막 종가
+        assertThat(weekly.getVolume(0)).isEqualTo(700);
+        assertThat(weekly.getTradingValue(1)).isEqualTo(7000);
+    }
+
+    @Test
+    void incrementalResampleMatchesFullResample() {
+        PriceSeries series = PriceSeries.of(daily(120));
+        List<StockPrice> changes = List.of(
+                price(START.plusDays(100), 5),
+                price(START.plusDays(120), 300),
+                price(START.plusDays(125), 301));
+        PriceSeries merged = series.merge(changes);
+        int changedFrom = (int) START.plusDays(100).toEpochDay();
+
+        for (PricePeriod period : PricePeriod.values()) {
+            PriceSeries previous = series.resample(period);
+            PriceSeries incremental = merged.resample(period, previous, changedFrom);
+            PriceSeries full = merged.resample(period);
+
+            assertThat(incremental.size()).as("%s", period).isEqualTo(full.size());
+            for (int i = 0; i < full.size(); i++) {
+                assertThat(incremental.getEpochDay(i)).isEqualTo(full.getEpochDay(i));
+                assertThat(incremental.getOpen(i)).isEqualTo(full.getOpen(i));
+                assertThat(incremental.getHigh(i)).isEqualTo(full.getHigh(i));
+                assertThat(incremental.getLow(i)).isEqualTo(full.getLow(i));
+                assertThat(incremental.getClose(i)).isEqualTo(full.getClose(i));
+                assertThat(incremental.getVolume(i)).isEqualTo(full.getVolume(i));
+            }
+        }
+    }
+
+    @Test
+    void resampleSkipsMissingValues() {
+        List<StockPrice> prices = new ArrayList<>(daily(7));
+        prices.set(0, StockPrice.builder().datetime(START).build());
+        prices.set(6, StockPrice.builder().datetime(START.plusDays(6)).build());
+
+        PriceSeries weekly = PriceSeries.of(prices).resample(PricePeriod.W);
+
+        assertThat(weekly.getOpen(0)).isEqualTo(100);  // 둘째 날 시가
+        assertThat(weekly.getHigh(0)).isEqualTo(107);
+        assertThat(weekly.getLow(0)).isEqualTo(99);
+        assertThat(weekly.getClose(0)).isEqualTo(105); // 마지막으로 값이 있는 종가
+        assertThat(weekly.getVolume(0)).isEqualTo(500);
+
+        PriceSeries allMissing = PriceSeries.of(List.of(StockPrice.builder().datetime(START).build()))
+                .resample(PricePeriod.W);
+        assertThat(allMissing.getHigh(0)).isNaN();
+        assertThat(allMissing.getVolume(0)).isEqualTo(PriceSeries.NO_AMOUNT);
+    }
+
+    @Test
+    void aggregateReturnsMaxPointsBars() {
+        PriceSeries series = PriceSeries.of(daily(1001));
+
+        PriceSeries aggregated = series.aggregate(500);
+
+        assertThat(aggregated.size()).isEqualTo(500);
+        assertThat(aggregated.getOpen(0)).isEqualTo(series.getOpen(0));
+        assertThat(aggregated.lastDate()).isEqualTo(series.lastDate());
+        assertThat(aggregated.getClose(499)).isEqualTo(series.getClose(1000));
+        long volume = 0;
+        for (int i = 0; i < aggregated.size(); i++) {
+            volume += aggregated.getVolume(i);
+        }
+        assertThat(volume).isEqualTo(1001 * 100L);
+
+        assertThat(series.aggregate(2000)).isSameAs(series);
+        assertThat(series.aggregate(0)).isSameAs(series);
+    }
+
+    @Test
+    void lttbKeepsEndpointsAndReturnsMaxPointsRows() {
+        PriceSeries series = PriceSeries.of(daily(1000));
+
+        PriceSeries sampled = series.lttb(100);
+
+        assertThat(sampled.size()).isEqualTo(100);
+        assertThat(sampled.firstDate()).isEqualTo(series.firstDate());
+        assertThat(sampled.lastDate()).isEqualTo(series.lastDate());
+        for (int i = 1; i < sampled.size(); i++) {
+            assertThat(sampled.getEpochDay(i)).isGreaterThan(sampled.getEpochDay(i - 1));
+        }
+        // 고른 행은 원본 행 그대로
+        int row = (int) (sampled.getEpochDay(50) - series.getEpochDay(0));
+        assertThat(sampled.getClose(50)).isEqualTo(series.getClose(row));
+    }
+
+    @Test
+    void lttbPicksSpike() {
+        List<StockPrice> prices = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            prices.add(price(START.plusDays(i), i == 150 ? 1000 : 100));
+        }
+
+        PriceSeries sampled = PriceSeries.of(prices).lttb(20);
+
+        boolean hasSpike = false;
+        for (int i = 0; i < sampled.size(); i++) {
+            hasSpike |= sampled.getClose(i) == 1000;
+        }
+        assertThat(hasSpike).isTrue();
+    }
+
+    @Test
+    void unsortedBuilderInputKeepsMissingValues() {
+        PriceSeries series = PriceSeries.builder(2)
+                .add((int) START.plusDays(1).toEpochDay(), 1, 2, 0.5, 1.5, 10, 100)
+                .add((int) START.toEpochDay(), Double.NaN, Double.NaN, Double.NaN, Double.NaN,
+                        PriceSeries.NO_AMOUNT, PriceSeries.NO_AMOUNT)
+                .build();
+
+        assertThat(series.firstDate()).isEqualTo(START);
+        assertThat(series.getClose(0)).isNaN();
+        assertThat(series.getVolume(0)).isEqualTo(PriceSeries.NO_AMOUNT);
+        assertThat(series.getClose(1)).isEqualTo(1.5);
+    }
+}
@@ -0,0 +1,35 @@
+package com.monstersinc.stock101.stock.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceSeriesCacheInvalidationTest {
+
+    @Test
+    void roundTripWithDateRange() {
+        PriceSeriesCache.Invalidation invalidation = new PriceSeriesCache.Invalidation(
+                "1234@node-a", 42L, LocalDate.of(2024, 3, 4), LocalDate.of(2024, 3, 8));
+
+        assertThat(PriceSeriesCache.Invalidation.parse(invalidation.format())).isEqualTo(invalidation);
+    }
+
+    @Test
+    void legacyMessageHasNoRange() {
+        PriceSeriesCache.Invalidation invalidation = PriceSeriesCache.Invalidation.parse("1234@node-a|42");
+
+        assertThat(invalidation.nodeId()).isEqualTo("1234@node-a");
+        assertThat(invalidation.stockId()).isEqualTo(42L);
+        assertThat(invalidation.fromDate()).isNull();
+        assertThat(invalidation.toDate()).isNull();
+    }
+
+    @Test
+    void malformedMessageIsIgnored() {
+        assertThat(PriceSeriesCache.Invalidation.parse("1234@node-a")).isNull();
+        assertThat(PriceSeriesCache.Invalidation.parse("1234@node-a|abc")).isNull();
+        assertThat(PriceSeriesCache.Invalidation.parse("1234@node-a|42|1")).isNull();
+    }
+}